@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.resolver.internal.ant;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.maven.model.building.ModelCache;
+
+/**
+ * A model cache shared by all model builds of one {@link AntRepoSys} instance, keeping the raw parent POMs and the
+ * imported dependency management the model builder read, keyed by their coordinates. Alongside, the
+ * {@link AntModelResolver} keeps the POM files it resolved, so a parent or BOM used by many modules is resolved and
+ * parsed only once per build.
+ */
+final class AntModelCache implements ModelCache {
+
+    private final Map<List<String>, Object> entries = new ConcurrentHashMap<>();
+
+    private final Map<List<String>, File> poms = new ConcurrentHashMap<>();
+
+    private final ResolverMetrics metrics;
+
+    /**
+     * Creates a cache reporting its hits and misses to the given metrics.
+     *
+     * @param metrics the metrics to report to, may be {@code null}
+     */
+    AntModelCache(ResolverMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void put(String groupId, String artifactId, String version, String tag, Object data) {
+        entries.put(Arrays.asList(groupId, artifactId, version, tag), data);
+    }
+
+    @Override
+    public Object get(String groupId, String artifactId, String version, String tag) {
+        Object data = entries.get(Arrays.asList(groupId, artifactId, version, tag));
+        if (metrics != null) {
+            metrics.increment(data != null ? "rawModelCache.hits" : "rawModelCache.misses");
+        }
+        return data;
+    }
+
+    /**
+     * Returns the resolved POM file of the given coordinates.
+     *
+     * @param groupId the group id
+     * @param artifactId the artifact id
+     * @param version the version
+     * @return the POM file or {@code null} if it was not resolved yet
+     */
+    File getPom(String groupId, String artifactId, String version) {
+        return poms.get(Arrays.asList(groupId, artifactId, version));
+    }
+
+    /**
+     * Remembers the resolved POM file of the given coordinates.
+     *
+     * @param groupId the group id
+     * @param artifactId the artifact id
+     * @param version the version
+     * @param pomFile the resolved POM file
+     */
+    void putPom(String groupId, String artifactId, String version, File pomFile) {
+        poms.put(Arrays.asList(groupId, artifactId, version), pomFile);
+    }
+
+    /**
+     * Removes all entries, e.g. once the repositories of the build changed.
+     */
+    void clear() {
+        entries.clear();
+        poms.clear();
+    }
+}
@@ -45,6 +45,7 @@ import org.eclipse.aether.resolution.ArtifactResolutionException;
 /**
  * A model resolver to assist building of dependency POMs. This resolver gives priority to those repositories that have
  * been initially specified and repositories discovered in dependency POMs are recessively merged into the search chain.
+ * The resolved POM files are remembered in the {@link AntModelCache} of the build, if given.
  *
  */
 class AntModelResolver implements ModelResolver {
@@ -61,18 +62,22 @@ class AntModelResolver implements ModelResolver {
 
     private final Set<String> repositoryIds;
 
+    private final AntModelCache cache;
+
     AntModelResolver(
             final RepositorySystemSession session,
             final String context,
             final RepositorySystem repoSys,
             final RemoteRepositoryManager remoteRepositoryManager,
-            final List<RemoteRepository> repositories) {
+            final List<RemoteRepository> repositories,
+            final AntModelCache cache) {
         this.session = session;
         this.context = context;
         this.repoSys = repoSys;
         this.remoteRepositoryManager = remoteRepositoryManager;
         this.repositories = repositories;
         this.repositoryIds = new HashSet<>();
+        this.cache = cache;
     }
 
     private AntModelResolver(final AntModelResolver original) {
@@ -82,6 +87,7 @@ class AntModelResolver implements ModelResolver {
         this.remoteRepositoryManager = original.remoteRepositoryManager;
         this.repositories = original.repositories;
         this.repositoryIds = new HashSet<>(original.repositoryIds);
+        this.cache = original.cache;
     }
 
     public void addRepository(final Repository repository) throws InvalidRepositoryException {
@@ -126,6 +132,11 @@ class AntModelResolver implements ModelResolver {
 
     public ModelSource resolveModel(final String groupId, final String artifactId, final String version)
             throws UnresolvableModelException {
+        File cached = cache != null ? cache.getPom(groupId, artifactId, version) : null;
+        if (cached != null) {
+            return new FileModelSource(cached);
+        }
+
         Artifact pomArtifact = new DefaultArtifact(groupId, artifactId, "", "pom", version);
 
         try {
@@ -142,6 +153,9 @@ class AntModelResolver implements ModelResolver {
         }
 
         final File pomFile = pomArtifact.getFile();
+        if (cache != null) {
+            cache.putPom(groupId, artifactId, version, pomFile);
+        }
 
         return new FileModelSource(pomFile);
     }
@@ -25,6 +25,7 @@ import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
@@ -36,7 +37,14 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
+import java.util.Timer;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.maven.model.Model;
 import org.apache.maven.model.building.DefaultModelBuildingRequest;
@@ -59,6 +67,7 @@ import org.apache.maven.resolver.internal.ant.types.Proxy;
 import org.apache.maven.resolver.internal.ant.types.RemoteRepositories;
 import org.apache.maven.resolver.internal.ant.types.RemoteRepository;
 import org.apache.maven.resolver.internal.ant.types.RemoteRepository.Policy;
+import org.apache.maven.resolver.internal.ant.types.ResolverConfig;
 import org.apache.maven.settings.Profile;
 import org.apache.maven.settings.Repository;
 import org.apache.maven.settings.RepositoryPolicy;
@@ -71,14 +80,16 @@ import org.apache.maven.settings.building.SettingsBuildingException;
 import org.apache.maven.settings.crypto.DefaultSettingsDecryptionRequest;
 import org.apache.maven.settings.crypto.SettingsDecrypter;
 import org.apache.maven.settings.crypto.SettingsDecryptionResult;
+import org.apache.tools.ant.BuildEvent;
 import org.apache.tools.ant.BuildException;
 import org.apache.tools.ant.Project;
+import org.apache.tools.ant.SubBuildListener;
 import org.apache.tools.ant.Task;
+import org.apache.tools.ant.UnknownElement;
 import org.apache.tools.ant.taskdefs.condition.Os;
 import org.apache.tools.ant.types.Reference;
 import org.codehaus.plexus.util.xml.Xpp3Dom;
 import org.eclipse.aether.ConfigurationProperties;
-import org.eclipse.aether.DefaultRepositoryCache;
 import org.eclipse.aether.DefaultRepositorySystemSession;
 import org.eclipse.aether.RepositorySystem;
 import org.eclipse.aether.RepositorySystemSession;
@@ -95,6 +106,9 @@ import org.eclipse.aether.repository.AuthenticationSelector;
 import org.eclipse.aether.repository.LocalRepositoryManager;
 import org.eclipse.aether.repository.MirrorSelector;
 import org.eclipse.aether.repository.ProxySelector;
+import org.eclipse.aether.resolution.ArtifactDescriptorException;
+import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
+import org.eclipse.aether.util.concurrency.ExecutorUtils;
 import org.eclipse.aether.util.repository.AuthenticationBuilder;
 import org.eclipse.aether.util.repository.ConservativeAuthenticationSelector;
 import org.eclipse.aether.util.repository.DefaultAuthenticationSelector;
@@ -129,12 +143,42 @@ public class AntRepoSys {
 
     private static final SettingsDecrypter SETTINGS_DECRYPTER = new AntSettingsDecryptorFactory().newInstance();
 
+    private static final Properties ENV_PROPERTIES = getEnvProperties();
+
+    private static final String CONFIG_PROP_PARALLEL_PUT = "aether.connector.basic.parallelPut";
+
+    private static final String CONFIG_PROP_THREADS = "aether.connector.basic.threads";
+
+    private static final String CONFIG_PROP_COLLECTOR_IMPL = "aether.dependencyCollector.impl";
+
+    private static final String CONFIG_PROP_COLLECTOR_THREADS = "aether.dependencyCollector.bf.threads";
+
+    private static final int DEFAULT_PUSH_THREADS = 4;
+
+    private static final String DEFAULT_GRAPH_CACHE_DIR = ".cache/resolver-ant-tasks/graphs";
+
     private final Project project;
 
     private final AntRepositorySystemSupplier antRepositorySystemSupplier;
 
     private final RepositorySystem repoSys;
 
+    private final SharedRepositorySystem sharedRepoSys;
+
+    private final ResolverMetrics metrics;
+
+    private final ProjectWorkspaceReader workspace;
+
+    private long exportedMetrics;
+
+    private final Map<Task, TransferStatistics> transferStatistics = new ConcurrentHashMap<>();
+
+    private final Map<Task, TransferProgress> transferProgress = new ConcurrentHashMap<>();
+
+    private Timer progressTimer;
+
+    private volatile boolean closed;
+
     private File userSettings;
 
     private File globalSettings;
@@ -147,24 +191,35 @@ public class AntRepoSys {
 
     private final List<Authentication> authentications = new CopyOnWriteArrayList<>();
 
+    private final List<ResolverConfig> resolverConfigs = new CopyOnWriteArrayList<>();
+
     private LocalRepository localRepository;
 
     private Pom defaultPom;
 
+    private final Map<File, AntRepositoryCache> repositoryCaches = new ConcurrentHashMap<>();
+
+    private final Map<File, SessionTemplate> sessionTemplates = new ConcurrentHashMap<>();
+
+    private final Map<File, CachedModel> models = new ConcurrentHashMap<>();
+
+    private final AntModelCache modelCache;
+
     private static <T> boolean eq(T o1, T o2) {
         return Objects.equals(o1, o2);
     }
 
     /**
      * Returns the singleton instance of {@code AntRepoSys} associated with the given Ant {@code Project}.
-     * Registers a new instance if not already present.
+     * Registers a new instance if not already present or if the previous instance has been closed because the build
+     * of the project finished.
      *
      * @param project the current Ant project
      * @return the {@code AntRepoSys} instance
      */
     public static synchronized AntRepoSys getInstance(Project project) {
         Object obj = project.getReference(Names.ID);
-        if (obj instanceof AntRepoSys) {
+        if (obj instanceof AntRepoSys && !((AntRepoSys) obj).closed) {
             return (AntRepoSys) obj;
         }
         AntRepoSys instance = new AntRepoSys(project);
@@ -175,8 +230,22 @@ public class AntRepoSys {
 
     private AntRepoSys(Project project) {
         this.project = project;
-        this.antRepositorySystemSupplier = new AntRepositorySystemSupplier();
-        this.repoSys = antRepositorySystemSupplier.get();
+        if (Boolean.parseBoolean(project.getProperty(Names.PROPERTY_SHARED_SYSTEM))) {
+            this.sharedRepoSys = SharedRepositorySystem.acquire();
+            this.antRepositorySystemSupplier = sharedRepoSys.getSupplier();
+            this.repoSys = sharedRepoSys.getSystem();
+        } else {
+            this.sharedRepoSys = null;
+            this.antRepositorySystemSupplier = new AntRepositorySystemSupplier();
+            this.repoSys = antRepositorySystemSupplier.get();
+        }
+        String report = project.getProperty(Names.PROPERTY_METRICS_FILE);
+        this.metrics = report != null ? ResolverMetrics.acquire(project.resolveFile(report)) : new ResolverMetrics();
+        this.modelCache = new AntModelCache(metrics);
+        String workspaceName = project.getProperty(Names.PROPERTY_WORKSPACE);
+        this.workspace = ProjectWorkspaceReader.acquire(
+                workspaceName != null ? workspaceName : "build-" + UUID.randomUUID());
+        project.addBuildListener(new LifecycleListener());
     }
 
     private void initDefaults() {
@@ -205,49 +274,229 @@ public class AntRepoSys {
         return repoSys;
     }
 
+    /**
+     * Returns the metrics of the resolver tasks of this build.
+     *
+     * @return the metrics
+     */
+    public ResolverMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns the workspace the POMs and artifacts of this build are registered in.
+     *
+     * @return the workspace
+     * @throws BuildException if {@link Names#PROPERTY_WORKSPACE} names another workspace
+     */
+    public ProjectWorkspaceReader getWorkspace() {
+        checkWorkspace();
+        return workspace;
+    }
+
+    /**
+     * Fails if {@link Names#PROPERTY_WORKSPACE} was set to another workspace after this instance chose its workspace,
+     * which would otherwise be ignored.
+     */
+    private void checkWorkspace() {
+        String name = project.getProperty(Names.PROPERTY_WORKSPACE);
+        if (name != null && !name.equals(workspace.getName())) {
+            throw new BuildException("The property " + Names.PROPERTY_WORKSPACE
+                    + " must be set before the first resolver task of the build runs, it names the workspace " + name
+                    + " but the build already uses the workspace " + workspace.getName());
+        }
+    }
+
+    /**
+     * Releases the resources held by this instance: the cached repository data is discarded, the workspace and the
+     * metrics are released, possibly writing their report, and the repository system is shut down, or released if it
+     * is shared. Invoked when the build of the project finishes, afterwards
+     * {@link #getInstance(Project)} creates a new instance.
+     */
+    synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        invalidateCaches();
+        transferStatistics.clear();
+        for (TransferProgress progress : transferProgress.values()) {
+            progress.cancel();
+        }
+        transferProgress.clear();
+        if (progressTimer != null) {
+            progressTimer.cancel();
+        }
+        workspace.release();
+        try {
+            metrics.release();
+        } catch (IOException e) {
+            project.log(
+                    "Could not write resolver metrics to " + metrics.getReport() + ": " + e.getMessage(),
+                    e,
+                    Project.MSG_WARN);
+        }
+        if (sharedRepoSys != null) {
+            sharedRepoSys.release();
+        } else {
+            repoSys.shutdown();
+        }
+    }
+
     private synchronized RemoteRepositoryManager getRemoteRepoMan() {
         return antRepositorySystemSupplier.remoteRepositoryManager;
     }
 
     /**
      * Creates and returns a new {@link RepositorySystemSession} for the given task and local repository.
-     * Configures authentication, mirrors, proxies, offline mode, and repository listeners.
+     * Configures authentication, mirrors, proxies, offline mode, and repository listeners. The transfers of all
+     * sessions of a task are reported together while they run and summarized once the task finishes.
+     * All sessions using the same local repository share one size bounded repository cache.
+     * <p>
+     * The returned session is a cheap copy of a memoized session template that only gets rebuilt when its inputs
+     * change, i.e. the settings files, mirrors, proxies, authentications, resolver configurations, offline mode,
+     * local repository, the user properties or the project properties configuring the resolver. Only the listeners
+     * are specific to the given task.
+     * </p>
      *
      * @param task the invoking Ant task (used for logging and listeners)
      * @param localRepo optional local repository configuration
      * @return a configured repository system session
      */
     public RepositorySystemSession getSession(Task task, LocalRepository localRepo) {
+        checkWorkspace();
+        DefaultRepositorySystemSession session = new DefaultRepositorySystemSession(getSessionTemplate(localRepo));
+
+        session.setRepositoryListener(new AntRepositoryListener(task, metrics));
+        TransferStatistics statistics = transferStatistics.computeIfAbsent(task, t -> new TransferStatistics());
+        TransferProgress progress =
+                transferProgress.computeIfAbsent(task, t -> new TransferProgress(t, getProgressInterval()));
+        progress.schedule(getProgressTimer());
+        session.setTransferListener(new AntTransferListener(task, statistics, metrics, progress));
+
+        return session;
+    }
+
+    private synchronized RepositorySystemSession getSessionTemplate(LocalRepository localRepo) {
+        File localRepoDir = getLocalRepoDir(localRepo).getAbsoluteFile();
+
+        List<Object> key = Arrays.asList(
+                localRepoDir,
+                getUserSettings(),
+                getGlobalSettings(),
+                isOffline(),
+                project.getUserProperties(),
+                getResolverProperties(),
+                getConfigurationKey());
+
+        SessionTemplate template = sessionTemplates.get(localRepoDir);
+        if (template == null || !template.key.equals(key)) {
+            project.log("Creating repository system session for local repository " + localRepoDir, Project.MSG_DEBUG);
+            template = new SessionTemplate(
+                    key, newSessionTemplate(localRepoDir, getSystemProperties(), getUserProperties()));
+            sessionTemplates.put(localRepoDir, template);
+        }
+        return template.session;
+    }
+
+    /**
+     * Returns the project properties that may configure the resolver, i.e. those in the namespaces {@code aether.},
+     * {@code maven.} and {@code resolver.}, leaving out the metrics exposed as properties by this instance. Other
+     * project properties, e.g. those defined by {@code <property>} or {@code <available>} between two tasks, do not
+     * cause a new session template.
+     */
+    private Map<String, Object> getResolverProperties() {
+        String metricsPrefix = project.getProperty(Names.PROPERTY_METRICS_PREFIX);
+        Map<String, Object> props = new HashMap<>();
+        for (Map.Entry<String, Object> property : project.getProperties().entrySet()) {
+            String name = property.getKey();
+            if ((name.startsWith("aether.") || name.startsWith("maven.") || name.startsWith(Names.ID + "."))
+                    && !isMetricsProperty(name, metricsPrefix)) {
+                props.put(name, property.getValue());
+            }
+        }
+        return props;
+    }
+
+    private static boolean isMetricsProperty(String name, String metricsPrefix) {
+        return metricsPrefix != null && name.startsWith(metricsPrefix + '.');
+    }
+
+    private RepositorySystemSession newSessionTemplate(
+            File localRepoDir, Properties systemProperties, Properties userProperties) {
         DefaultRepositorySystemSession session = MavenRepositorySystemUtils.newSession();
 
         final Map<Object, Object> configProps = new LinkedHashMap<>();
         configProps.put(ConfigurationProperties.USER_AGENT, getUserAgent());
         configProps.put("maven.startTime", STARTED);
-        configProps.putAll(getSystemProperties());
-        configProps.putAll(getUserProperties());
+        configProps.putAll(systemProperties);
+        for (ResolverConfig resolverConfig : resolverConfigs) {
+            configProps.putAll(resolverConfig.getProperties());
+        }
+        configProps.putAll(userProperties);
         processServerConfiguration(configProps);
 
         session.setConfigProperties(configProps);
-        session.setSystemProperties(getSystemProperties());
-        session.setUserProperties(getUserProperties());
+        session.setSystemProperties(systemProperties);
+        session.setUserProperties(userProperties);
         session.setOffline(isOffline());
 
         session.setProxySelector(getProxySelector());
         session.setMirrorSelector(getMirrorSelector());
         session.setAuthenticationSelector(getAuthSelector());
 
-        session.setCache(new DefaultRepositoryCache());
+        session.setCache(getRepositoryCache(localRepoDir));
+
+        session.setLocalRepositoryManager(getLocalRepoMan(session, localRepoDir));
 
-        session.setRepositoryListener(new AntRepositoryListener(task));
-        session.setTransferListener(new AntTransferListener(task));
+        session.setWorkspaceReader(workspace);
 
-        session.setLocalRepositoryManager(getLocalRepoMan(session, localRepo));
+        session.getData().set(ResolverMetrics.class, metrics);
 
-        session.setWorkspaceReader(ProjectWorkspaceReader.getInstance());
+        session.setReadOnly();
 
         return session;
     }
 
+    /**
+     * Returns a snapshot of the mirrors, proxies, authentications and resolver configurations defined in the build.
+     * These types register themselves before their attributes are configured, so their current values must be
+     * compared.
+     */
+    private List<Object> getConfigurationKey() {
+        List<Object> key = new ArrayList<>();
+        for (Mirror mirror : mirrors) {
+            key.add(Arrays.asList(mirror.getId(), mirror.getUrl(), mirror.getType(), mirror.getMirrorOf()));
+        }
+        for (Proxy proxy : proxies) {
+            key.add(Arrays.asList(
+                    proxy.getType(),
+                    proxy.getHost(),
+                    proxy.getPort(),
+                    proxy.getNonProxyHosts(),
+                    getAuthenticationKey(proxy.getAuthentication())));
+        }
+        for (Authentication auth : authentications) {
+            key.add(getAuthenticationKey(auth));
+        }
+        for (ResolverConfig resolverConfig : resolverConfigs) {
+            key.add(new LinkedHashMap<>(resolverConfig.getProperties()));
+        }
+        return key;
+    }
+
+    private static List<Object> getAuthenticationKey(Authentication auth) {
+        if (auth == null) {
+            return Collections.emptyList();
+        }
+        return Arrays.asList(
+                auth.getUsername(),
+                auth.getPassword(),
+                auth.getPrivateKeyFile(),
+                auth.getPassphrase(),
+                auth.getServers());
+    }
+
     private String getUserAgent() {
         return "Apache-Ant/" + project.getProperty("ant.version")
                 + " ("
@@ -316,42 +565,134 @@ public class AntRepoSys {
         return new File(new File(project.getProperty("user.home"), ".m2"), "repository");
     }
 
-    private LocalRepositoryManager getLocalRepoMan(RepositorySystemSession session, LocalRepository localRepo) {
+    private File getLocalRepoDir(LocalRepository localRepo) {
         if (localRepo == null) {
             localRepo = localRepository;
         }
 
-        File repoDir;
         if (localRepo != null && localRepo.getDir() != null) {
-            repoDir = localRepo.getDir();
-        } else {
-            repoDir = getDefaultLocalRepoDir();
+            return localRepo.getDir();
         }
+        return getDefaultLocalRepoDir();
+    }
 
+    private LocalRepositoryManager getLocalRepoMan(RepositorySystemSession session, File repoDir) {
         org.eclipse.aether.repository.LocalRepository repo = new org.eclipse.aether.repository.LocalRepository(repoDir);
 
         return getSystem().newLocalRepositoryManager(session, repo);
     }
 
-    private synchronized Settings getSettings() {
-        if (settings == null) {
-            DefaultSettingsBuildingRequest request = new DefaultSettingsBuildingRequest();
-            request.setUserSettingsFile(getUserSettings());
-            request.setGlobalSettingsFile(getGlobalSettings());
-            request.setSystemProperties(getSystemProperties());
-            request.setUserProperties(getUserProperties());
+    /**
+     * Returns the repository cache shared by all sessions using the given local repository. Cached data like
+     * artifact descriptors and version resolution results refer to files of the local repository, hence every local
+     * repository gets its own cache.
+     */
+    private AntRepositoryCache getRepositoryCache(File localRepoDir) {
+        return repositoryCaches.computeIfAbsent(
+                localRepoDir.getAbsoluteFile(), dir -> new AntRepositoryCache(getCacheMaxEntries(), metrics));
+    }
+
+    private int getCacheMaxEntries() {
+        String prop = project.getProperty(Names.PROPERTY_CACHE_MAX_ENTRIES);
+        if (prop != null) {
+            try {
+                int maxEntries = Integer.parseInt(prop.trim());
+                if (maxEntries > 0) {
+                    return maxEntries;
+                }
+            } catch (NumberFormatException e) {
+                // fall through to the error below
+            }
+            throw new BuildException("The property " + Names.PROPERTY_CACHE_MAX_ENTRIES
+                    + " must be a positive number: " + prop);
+        }
+        return AntRepositoryCache.DEFAULT_MAX_ENTRIES;
+    }
+
+    private synchronized Timer getProgressTimer() {
+        if (progressTimer == null) {
+            progressTimer = new Timer(getClass().getSimpleName() + "-progress", true);
+        }
+        return progressTimer;
+    }
 
+    private long getProgressInterval() {
+        String prop = project.getProperty(Names.PROPERTY_PROGRESS_INTERVAL);
+        if (prop != null) {
             try {
-                settings = SETTINGS_BUILDER.build(request).getEffectiveSettings();
-            } catch (SettingsBuildingException e) {
-                project.log("Could not process settings.xml: " + e.getMessage(), e, Project.MSG_WARN);
+                return Long.parseLong(prop.trim());
+            } catch (NumberFormatException e) {
+                throw new BuildException(
+                        "The property " + Names.PROPERTY_PROGRESS_INTERVAL + " must be a number: " + prop, e);
+            }
+        }
+        return TransferProgress.DEFAULT_INTERVAL;
+    }
+
+    /**
+     * Discards all cached repository data. Invoked whenever the configuration the cached data was computed with
+     * changes, e.g. the settings, mirrors, proxies, authentications or the local repository.
+     */
+    private void invalidateCaches() {
+        sessionTemplates.clear();
+        models.clear();
+        modelCache.clear();
+        for (AntRepositoryCache cache : repositoryCaches.values()) {
+            cache.clear();
+        }
+        repositoryCaches.clear();
+    }
+
+    /**
+     * Discards the cached repository data of the given local repository, whose contents have just been changed.
+     */
+    private void invalidateCache(RepositorySystemSession session) {
+        AntRepositoryCache cache = repositoryCaches.get(session.getLocalRepository().getBasedir().getAbsoluteFile());
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Returns the effective settings of this build. Building and decrypting the settings is shared JVM wide through
+     * the {@link SettingsCache}, so sub-projects created by {@code <ant>} and {@code <antcall>} only pay for it once.
+     */
+    private synchronized Settings getSettings() {
+        if (settings == null) {
+            Properties systemProperties = getSystemProperties();
+            Properties userProperties = getUserProperties();
+            settings = SettingsCache.get(
+                    getUserSettings(),
+                    getGlobalSettings(),
+                    AntSecDispatcher.getSecuritySettingsFile(),
+                    systemProperties,
+                    userProperties,
+                    () -> buildSettings(systemProperties, userProperties));
+            if (settings == null) {
+                settings = new Settings();
             }
+        }
+        return settings;
+    }
 
-            SettingsDecryptionResult result =
-                    SETTINGS_DECRYPTER.decrypt(new DefaultSettingsDecryptionRequest(settings));
-            settings.setServers(result.getServers());
-            settings.setProxies(result.getProxies());
+    private Settings buildSettings(Properties systemProperties, Properties userProperties) {
+        DefaultSettingsBuildingRequest request = new DefaultSettingsBuildingRequest();
+        request.setUserSettingsFile(getUserSettings());
+        request.setGlobalSettingsFile(getGlobalSettings());
+        request.setSystemProperties(systemProperties);
+        request.setUserProperties(userProperties);
+
+        Settings settings;
+        try {
+            settings = SETTINGS_BUILDER.build(request).getEffectiveSettings();
+        } catch (SettingsBuildingException e) {
+            project.log("Could not process settings.xml: " + e.getMessage(), e, Project.MSG_WARN);
+            return null;
         }
+
+        SettingsDecryptionResult result = SETTINGS_DECRYPTER.decrypt(new DefaultSettingsDecryptionRequest(settings));
+        settings.setServers(result.getServers());
+        settings.setProxies(result.getProxies());
         return settings;
     }
 
@@ -379,23 +720,57 @@ public class AntRepoSys {
     private MirrorSelector getMirrorSelector() {
         DefaultMirrorSelector selector = new DefaultMirrorSelector();
 
+        for (MirrorDefinition mirror : getMirrors()) {
+            mirror.addTo(selector);
+        }
+
+        return selector;
+    }
+
+    private List<MirrorDefinition> getMirrors() {
+        List<MirrorDefinition> result = new ArrayList<>();
+
         for (Mirror mirror : mirrors) {
-            selector.add(mirror.getId(), mirror.getUrl(), mirror.getType(), false, false, mirror.getMirrorOf(), null);
+            result.add(new MirrorDefinition(
+                    mirror.getId(), mirror.getUrl(), mirror.getType(), mirror.getMirrorOf(), null));
         }
 
         Settings settings = getSettings();
         for (org.apache.maven.settings.Mirror mirror : settings.getMirrors()) {
-            selector.add(
+            result.add(new MirrorDefinition(
                     String.valueOf(mirror.getId()),
                     mirror.getUrl(),
                     mirror.getLayout(),
-                    false,
-                    false,
                     mirror.getMirrorOf(),
-                    mirror.getMirrorOfLayouts());
+                    mirror.getMirrorOfLayouts()));
         }
 
-        return selector;
+        return result;
+    }
+
+    /**
+     * Tells whether dependency collection may be delegated to the resolver daemon, i.e. whether no proxies or
+     * credentials are configured that would have to be passed to it.
+     */
+    private boolean isDaemonApplicable(List<org.eclipse.aether.repository.RemoteRepository> repositories) {
+        if (!proxies.isEmpty() || !authentications.isEmpty()) {
+            return false;
+        }
+        Settings settings = getSettings();
+        if (!settings.getProxies().isEmpty()) {
+            return false;
+        }
+        for (Server server : settings.getServers()) {
+            if (server.getUsername() != null || server.getPassword() != null || server.getPrivateKey() != null) {
+                return false;
+            }
+        }
+        for (org.eclipse.aether.repository.RemoteRepository repository : repositories) {
+            if (repository.getAuthentication() != null || repository.getProxy() != null) {
+                return false;
+            }
+        }
+        return true;
     }
 
     private AuthenticationSelector getAuthSelector() {
@@ -487,6 +862,19 @@ public class AntRepoSys {
         return mergedRepositories;
     }
 
+    /**
+     * Returns the remote repositories to resolve from, with mirrors, proxies and authentication applied.
+     *
+     * @param session the repository system session
+     * @param remoteRepositories optional custom remote repositories, defaults to the repositories of the build
+     * @return the repositories ready for resolution
+     */
+    public List<org.eclipse.aether.repository.RemoteRepository> getRepositories(
+            RepositorySystemSession session, RemoteRepositories remoteRepositories) {
+        remoteRepositories = remoteRepositories == null ? getMergedRepositories() : remoteRepositories;
+        return ConverterUtils.toRepositories(project, getSystem(), session, remoteRepositories);
+    }
+
     /**
      * Sets the path to the user-level {@code settings.xml} file. If changed, forces reloading of settings.
      *
@@ -495,6 +883,7 @@ public class AntRepoSys {
     public synchronized void setUserSettings(File file) {
         if (!eq(this.userSettings, file)) {
             settings = null;
+            invalidateCaches();
         }
         this.userSettings = file;
     }
@@ -512,6 +901,15 @@ public class AntRepoSys {
         return userSettings;
     }
 
+    /**
+     * Returns the user-level and global-level {@code settings.xml} files in use, whether they exist or not.
+     *
+     * @return the settings files, an element is {@code null} if the file could not be determined
+     */
+    public List<File> getSettingsFiles() {
+        return Arrays.asList(getUserSettings(), getGlobalSettings());
+    }
+
     /**
      * Sets the path to the global {@code settings.xml} file. If changed, forces reloading of settings.
      *
@@ -520,6 +918,7 @@ public class AntRepoSys {
     public void setGlobalSettings(File file) {
         if (!eq(this.globalSettings, file)) {
             settings = null;
+            invalidateCaches();
         }
         this.globalSettings = file;
     }
@@ -544,6 +943,7 @@ public class AntRepoSys {
      */
     public void addProxy(Proxy proxy) {
         proxies.add(proxy);
+        invalidateCaches();
     }
 
     /**
@@ -553,6 +953,7 @@ public class AntRepoSys {
      */
     public void addMirror(Mirror mirror) {
         mirrors.add(mirror);
+        invalidateCaches();
     }
 
     /**
@@ -562,6 +963,17 @@ public class AntRepoSys {
      */
     public void addAuthentication(Authentication authentication) {
         authentications.add(authentication);
+        invalidateCaches();
+    }
+
+    /**
+     * Registers a {@link ResolverConfig} whose configuration properties are applied to all sessions.
+     *
+     * @param resolverConfig the resolver configuration
+     */
+    public void addResolverConfig(ResolverConfig resolverConfig) {
+        resolverConfigs.add(resolverConfig);
+        invalidateCaches();
     }
 
     /**
@@ -571,10 +983,17 @@ public class AntRepoSys {
      */
     public void setLocalRepository(LocalRepository localRepository) {
         this.localRepository = localRepository;
+        invalidateCaches();
     }
 
     /**
      * Resolves a {@link Model} from a {@code pom.xml} file, optionally validating it as a local or remote model.
+     * <p>
+     * Effective models are cached for the whole build, keyed by the canonical path, modification time and size of the
+     * POM file as well as the settings files, active profiles, user properties, project properties and repositories
+     * they were built with. Only the metrics exported as project properties by this instance do not invalidate the
+     * cached models. Every caller receives its own copy of the cached model.
+     * </p>
      *
      * @param task the Ant task context
      * @param pomFile the POM file
@@ -586,20 +1005,147 @@ public class AntRepoSys {
     public Model loadModel(Task task, File pomFile, boolean local, RemoteRepositories remoteRepositories) {
         RepositorySystemSession session = getSession(task, null);
 
-        remoteRepositories = remoteRepositories == null ? getMergedRepositories() : remoteRepositories;
+        List<org.eclipse.aether.repository.RemoteRepository> repositories =
+                getRepositories(session, remoteRepositories);
+
+        return buildModel(session, repositories, newModelBuildingRequest(), getModelInputs(), pomFile, local);
+    }
+
+    /**
+     * Loads the effective models of several local POM files concurrently. All models are built with one session and
+     * the model cache of the build, so parent POMs and imported BOMs common to several of them are read only once.
+     *
+     * @param task the Ant task requesting the models, used for logging and session creation
+     * @param pomFiles the POM files to load
+     * @param remoteRepositories the remote repositories used to resolve parent and imported POMs
+     * @param threads the maximum number of models built concurrently
+     * @return the effective models by POM file, in the order of the given files
+     * @throws BuildException if any of the models cannot be built
+     */
+    public Map<File, Model> loadModels(
+            Task task, List<File> pomFiles, RemoteRepositories remoteRepositories, int threads) {
+        RepositorySystemSession session = getSession(task, null);
 
         List<org.eclipse.aether.repository.RemoteRepository> repositories =
-                ConverterUtils.toRepositories(task.getProject(), getSystem(), session, remoteRepositories);
+                getRepositories(session, remoteRepositories);
 
-        ModelResolver modelResolver =
-                new AntModelResolver(session, "project", getSystem(), getRemoteRepoMan(), repositories);
+        ModelBuildingRequest template = newModelBuildingRequest();
+        List<Object> inputs = getModelInputs();
 
+        Map<File, Model> result = new LinkedHashMap<>();
+        if (pomFiles.isEmpty()) {
+            return result;
+        }
+        ExecutorService executor = ExecutorUtils.threadPool(
+                Math.max(1, Math.min(threads, pomFiles.size())), getClass().getSimpleName() + "-model-");
+        try {
+            Map<File, Future<Model>> futures = new LinkedHashMap<>();
+            for (File pomFile : pomFiles) {
+                futures.put(
+                        pomFile,
+                        executor.submit(() -> buildModel(session, repositories, template, inputs, pomFile, true)));
+            }
+            for (Map.Entry<File, Future<Model>> future : futures.entrySet()) {
+                try {
+                    result.put(future.getKey(), future.getValue().get());
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof BuildException) {
+                        throw (BuildException) e.getCause();
+                    }
+                    throw new BuildException(
+                            "Could not load POM " + future.getKey() + ": " + e.getCause().getMessage(), e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new BuildException("Interrupted while loading POMs", e);
+                }
+            }
+        } finally {
+            ExecutorUtils.shutdown(executor);
+        }
+        return result;
+    }
+
+    /**
+     * Creates the model building request the requests for the individual POM files are copied from, evaluating the
+     * properties and profiles of the build once.
+     */
+    private ModelBuildingRequest newModelBuildingRequest() {
         Settings settings = getSettings();
 
+        DefaultModelBuildingRequest request = new DefaultModelBuildingRequest();
+        request.setLocationTracking(true);
+        request.setProcessPlugins(false);
+        request.setSystemProperties(getSystemProperties());
+        request.setUserProperties(getUserProperties());
+        request.setProfiles(SettingsUtils.convert(settings.getProfiles()));
+        request.setActiveProfileIds(settings.getActiveProfiles());
+        request.setModelCache(modelCache);
+        return request;
+    }
+
+    /**
+     * Returns the inputs of the model building requests that may change during the build, i.e. the settings files,
+     * the user properties and the project properties. The latter are passed as system properties to the model builder,
+     * where they take part in interpolation and profile activation, so all of them are part of the inputs except the
+     * metrics exported as properties by this instance, which change after every task.
+     */
+    private List<Object> getModelInputs() {
+        List<Object> inputs = new ArrayList<>();
+        for (File file : getSettingsFiles()) {
+            inputs.add(file != null ? Arrays.asList(file, file.lastModified(), file.length()) : null);
+        }
+        inputs.add(getUserProperties());
+        inputs.add(getModelProperties());
+        return inputs;
+    }
+
+    /**
+     * Returns the project properties passed to the model builder, leaving out the metrics exposed as properties by
+     * this instance.
+     */
+    private Map<String, Object> getModelProperties() {
+        String metricsPrefix = project.getProperty(Names.PROPERTY_METRICS_PREFIX);
+        Map<String, Object> props = new HashMap<>();
+        for (Map.Entry<String, Object> property : project.getProperties().entrySet()) {
+            if (!isMetricsProperty(property.getKey(), metricsPrefix)) {
+                props.put(property.getKey(), property.getValue());
+            }
+        }
+        return props;
+    }
+
+    private Model buildModel(
+            RepositorySystemSession session,
+            List<org.eclipse.aether.repository.RemoteRepository> repositories,
+            ModelBuildingRequest template,
+            List<Object> inputs,
+            File pomFile,
+            boolean local) {
+        File canonicalFile;
         try {
-            DefaultModelBuildingRequest request = new DefaultModelBuildingRequest();
-            request.setLocationTracking(true);
-            request.setProcessPlugins(false);
+            canonicalFile = pomFile.getCanonicalFile();
+        } catch (IOException e) {
+            canonicalFile = pomFile.getAbsoluteFile();
+        }
+        List<Object> key = Arrays.asList(
+                canonicalFile.lastModified(),
+                canonicalFile.length(),
+                local,
+                template.getActiveProfileIds(),
+                inputs,
+                repositories);
+        CachedModel cached = models.get(canonicalFile);
+        if (cached != null && cached.key.equals(key)) {
+            metrics.increment("modelCache.hits");
+            return cached.model.clone();
+        }
+        metrics.increment("modelCache.misses");
+
+        ModelResolver modelResolver =
+                new AntModelResolver(session, "project", getSystem(), getRemoteRepoMan(), repositories, modelCache);
+
+        try {
+            DefaultModelBuildingRequest request = new DefaultModelBuildingRequest(template);
             if (local) {
                 request.setPomFile(pomFile);
                 request.setValidationLevel(ModelBuildingRequest.VALIDATION_LEVEL_STRICT);
@@ -607,12 +1153,10 @@ public class AntRepoSys {
                 request.setModelSource(new FileModelSource(pomFile));
                 request.setValidationLevel(ModelBuildingRequest.VALIDATION_LEVEL_MINIMAL);
             }
-            request.setSystemProperties(getSystemProperties());
-            request.setUserProperties(getUserProperties());
-            request.setProfiles(SettingsUtils.convert(settings.getProfiles()));
-            request.setActiveProfileIds(settings.getActiveProfiles());
             request.setModelResolver(modelResolver);
-            return antRepositorySystemSupplier.modelBuilder.build(request).getEffectiveModel();
+            Model model = antRepositorySystemSupplier.modelBuilder.build(request).getEffectiveModel();
+            models.put(canonicalFile, new CachedModel(key, model));
+            return model.clone();
         } catch (ModelBuildingException e) {
             throw new BuildException("Could not load POM " + pomFile + ": " + e.getMessage(), e);
         }
@@ -620,16 +1164,18 @@ public class AntRepoSys {
 
     private Properties getSystemProperties() {
         Properties props = new Properties();
-        getEnvProperties(props);
+        props.putAll(ENV_PROPERTIES);
         props.putAll(System.getProperties());
         ConverterUtils.addProperties(props, project.getProperties());
         return props;
     }
 
-    private void getEnvProperties(Properties props) {
-        if (props == null) {
-            props = new Properties();
-        }
+    /**
+     * Returns the environment variables as {@code env.*} properties. The environment of the JVM cannot change,
+     * so this is computed only once.
+     */
+    private static Properties getEnvProperties() {
+        Properties props = new Properties();
         for (Map.Entry<String, String> entry : System.getenv().entrySet()) {
             String key = entry.getKey();
             if (OS_WINDOWS) {
@@ -638,10 +1184,17 @@ public class AntRepoSys {
             key = "env." + key;
             props.put(key, entry.getValue());
         }
+        return props;
     }
 
+    /**
+     * Returns the user properties passed to the resolver and the model builder, leaving out the workspace name, which
+     * is generated per build and passed to its sub-builds.
+     */
     private Properties getUserProperties() {
-        return ConverterUtils.addProperties(null, project.getUserProperties());
+        Properties props = ConverterUtils.addProperties(null, project.getUserProperties());
+        props.remove(Names.PROPERTY_WORKSPACE);
+        return props;
     }
 
     /**
@@ -677,35 +1230,219 @@ public class AntRepoSys {
             Dependencies dependencies,
             LocalRepository localRepository,
             RemoteRepositories remoteRepositories) {
+        return collectDependencies(task, dependencies, localRepository, remoteRepositories, false, null, 0);
+    }
+
+    /**
+     * Performs dependency resolution by collecting transitive dependencies for the given configuration, optionally
+     * using the persistent dependency graph cache and a concurrent collector.
+     * <p>
+     * If the graph cache is enabled, a graph previously collected for exactly the same request is loaded from disk
+     * instead of walking the POMs again. Graphs containing snapshots, version ranges or artifacts of the current
+     * build are never cached.
+     * </p>
+     * <p>
+     * If collector threads are given, the breadth-first collector of the resolver is used, which reads the
+     * descriptors of each level of the graph concurrently. The descriptors of the direct dependencies are prefetched
+     * concurrently before the collection starts.
+     * </p>
+     *
+     * @param task the Ant task context
+     * @param dependencies the root dependencies
+     * @param localRepository optional local repository override
+     * @param remoteRepositories optional custom remote repositories
+     * @param graphCache whether to use the persistent dependency graph cache
+     * @param graphCacheDir optional directory of the graph cache, defaults to a directory within the local repository
+     * @param collectorThreads the number of threads reading descriptors concurrently, or {@code 0} to use the default
+     *            collector
+     * @return the result of dependency collection
+     * @throws BuildException if the dependency collection fails
+     */
+    public CollectResult collectDependencies(
+            Task task,
+            Dependencies dependencies,
+            LocalRepository localRepository,
+            RemoteRepositories remoteRepositories,
+            boolean graphCache,
+            File graphCacheDir,
+            int collectorThreads) {
         RepositorySystemSession session = getSession(task, localRepository);
 
-        remoteRepositories = remoteRepositories == null ? getMergedRepositories() : remoteRepositories;
+        CollectRequest collectRequest = newCollectRequest(task, session, dependencies, remoteRepositories);
 
-        List<org.eclipse.aether.repository.RemoteRepository> repos =
-                ConverterUtils.toRepositories(project, getSystem(), session, remoteRepositories);
+        for (org.eclipse.aether.repository.RemoteRepository repo : collectRequest.getRepositories()) {
+            task.getProject().log("Using remote repository " + repo, Project.MSG_VERBOSE);
+        }
 
-        CollectRequest collectRequest = new CollectRequest();
-        collectRequest.setRequestContext("project");
+        DependencyGraphCache cache = null;
+        if (graphCache) {
+            if (graphCacheDir == null) {
+                graphCacheDir = new File(session.getLocalRepository().getBasedir(), DEFAULT_GRAPH_CACHE_DIR);
+            }
+            cache = new DependencyGraphCache(graphCacheDir);
+            try {
+                CollectResult result = cache.load(getSystem(), session, collectRequest);
+                if (result != null) {
+                    task.getProject().log("Using cached dependency graph", Project.MSG_VERBOSE);
+                    metrics.increment("graphCache.hits");
+                    return result;
+                }
+                metrics.increment("graphCache.misses");
+            } catch (IOException | RuntimeException e) {
+                task.getProject()
+                        .log("Could not read cached dependency graph: " + e.getMessage(), e, Project.MSG_VERBOSE);
+            }
+        }
 
-        for (org.eclipse.aether.repository.RemoteRepository repo : repos) {
-            task.getProject().log("Using remote repository " + repo, Project.MSG_VERBOSE);
-            collectRequest.addRepository(repo);
+        RepositorySystemSession collectSession = session;
+        if (collectorThreads > 0) {
+            DefaultRepositorySystemSession threadedSession = new DefaultRepositorySystemSession(session);
+            threadedSession.setConfigProperty(CONFIG_PROP_COLLECTOR_IMPL, "bf");
+            threadedSession.setConfigProperty(CONFIG_PROP_COLLECTOR_THREADS, String.valueOf(collectorThreads));
+            collectSession = threadedSession;
+        }
+
+        long start = System.nanoTime();
+        CollectResult result = collectWithDaemon(task, collectSession, collectRequest);
+        if (result == null) {
+            task.getProject().log("Collecting dependencies", Project.MSG_VERBOSE);
+            try {
+                if (collectorThreads > 0) {
+                    prefetchDescriptors(task, collectSession, collectRequest, collectorThreads);
+                }
+                result = getSystem().collectDependencies(collectSession, collectRequest);
+            } catch (DependencyCollectionException e) {
+                throw new BuildException("Could not collect dependencies: " + e.getMessage(), e);
+            }
         }
+        metrics.addTime(ResolverMetrics.COLLECT, System.nanoTime() - start);
+
+        if (cache != null && DependencyGraphCache.isCacheable(session, result.getRoot())) {
+            try {
+                cache.store(session, collectRequest, result.getRoot());
+            } catch (IOException e) {
+                task.getProject()
+                        .log("Could not write cached dependency graph: " + e.getMessage(), e, Project.MSG_VERBOSE);
+            }
+        }
+
+        return result;
+    }
 
+    /**
+     * Computes a fingerprint of the request {@link #collectDependencies(Task, Dependencies, LocalRepository,
+     * RemoteRepositories)} would issue for the given configuration. Dependencies and dependency management taken from
+     * a POM are those of its effective model, so the fingerprint changes with its parent POMs and imported BOMs, too.
+     *
+     * @param task the Ant task context
+     * @param dependencies the root dependencies
+     * @param localRepository optional local repository override
+     * @param remoteRepositories optional custom remote repositories
+     * @return the fingerprint of the collect request
+     * @throws BuildException if a POM cannot be loaded
+     */
+    public String getCollectKey(
+            Task task,
+            Dependencies dependencies,
+            LocalRepository localRepository,
+            RemoteRepositories remoteRepositories) {
+        RepositorySystemSession session = getSession(task, localRepository);
+        return DependencyGraphCache.getKey(
+                session, newCollectRequest(task, session, dependencies, remoteRepositories));
+    }
+
+    private CollectRequest newCollectRequest(
+            Task task,
+            RepositorySystemSession session,
+            Dependencies dependencies,
+            RemoteRepositories remoteRepositories) {
+        CollectRequest collectRequest = new CollectRequest();
+        collectRequest.setRequestContext("project");
+        collectRequest.setRepositories(getRepositories(session, remoteRepositories));
         if (dependencies != null) {
             populateCollectRequest(collectRequest, task, session, dependencies, Collections.emptyList());
         }
+        return collectRequest;
+    }
 
-        task.getProject().log("Collecting dependencies", Project.MSG_VERBOSE);
-
-        CollectResult result;
+    /**
+     * Collects the dependencies with the resolver daemon configured via {@link Names#PROPERTY_DAEMON_PORT}, if any.
+     *
+     * @return the result or {@code null} if the dependencies must be collected in process
+     */
+    private CollectResult collectWithDaemon(Task task, RepositorySystemSession session, CollectRequest collectRequest) {
+        String port = project.getProperty(Names.PROPERTY_DAEMON_PORT);
+        if (port == null || port.isEmpty()) {
+            return null;
+        }
+        if (!isDaemonApplicable(collectRequest.getRepositories())) {
+            task.getProject()
+                    .log("Not using resolver daemon, proxies or credentials are configured", Project.MSG_VERBOSE);
+            return null;
+        }
+        task.getProject().log("Collecting dependencies with resolver daemon on port " + port, Project.MSG_VERBOSE);
         try {
-            result = getSystem().collectDependencies(session, collectRequest);
-        } catch (DependencyCollectionException e) {
-            throw new BuildException("Could not collect dependencies: " + e.getMessage(), e);
+            CollectResult result =
+                    ResolverDaemon.collect(Integer.parseInt(port), getSystem(), session, collectRequest, getMirrors());
+            if (result == null) {
+                task.getProject()
+                        .log("Dependency graph contains artifacts of the current build, collecting in process",
+                                Project.MSG_VERBOSE);
+            }
+            return result;
+        } catch (IOException | RuntimeException e) {
+            task.getProject()
+                    .log("Could not collect dependencies with resolver daemon, collecting in process: "
+                            + e.getMessage(),
+                            Project.MSG_VERBOSE);
+            return null;
         }
+    }
 
-        return result;
+    /**
+     * Reads the descriptors of the direct dependencies concurrently, downloading their POMs and parent POMs into the
+     * local repository and the repository cache. The collector itself starts with the direct dependencies one at a
+     * time. Imported dependency management needs no prefetching, it is resolved while building the effective POM.
+     * Failures are ignored here, the collection reports them.
+     */
+    private void prefetchDescriptors(
+            Task task, RepositorySystemSession session, CollectRequest collectRequest, int threads) {
+        List<org.eclipse.aether.graph.Dependency> dependencies = collectRequest.getDependencies();
+        if (dependencies.size() < 2) {
+            return;
+        }
+        task.getProject()
+                .log("Prefetching " + dependencies.size() + " dependency descriptors", Project.MSG_VERBOSE);
+        ExecutorService executor = ExecutorUtils.threadPool(
+                Math.min(threads, dependencies.size()), getClass().getSimpleName() + "-prefetch-");
+        try {
+            List<Future<?>> futures = new ArrayList<>(dependencies.size());
+            for (org.eclipse.aether.graph.Dependency dependency : dependencies) {
+                ArtifactDescriptorRequest request = new ArtifactDescriptorRequest(
+                        dependency.getArtifact(), collectRequest.getRepositories(), collectRequest.getRequestContext());
+                futures.add(executor.submit(() -> {
+                    try {
+                        getSystem().readArtifactDescriptor(session, request);
+                    } catch (ArtifactDescriptorException | RuntimeException e) {
+                        String message =
+                                "Could not prefetch descriptor of " + request.getArtifact() + ": " + e.getMessage();
+                        task.getProject().log(message, Project.MSG_DEBUG);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    // already logged by the prefetching task
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        } finally {
+            ExecutorUtils.shutdown(executor);
+        }
     }
 
     private void populateCollectRequest(
@@ -849,6 +1586,8 @@ public class AntRepoSys {
             getSystem().install(session, request);
         } catch (InstallationException e) {
             throw new BuildException("Could not install artifacts: " + e.getMessage(), e);
+        } finally {
+            invalidateCache(session);
         }
     }
 
@@ -868,19 +1607,205 @@ public class AntRepoSys {
             Artifacts artifacts,
             RemoteRepository releaseRepository,
             RemoteRepository snapshotRepository) {
+        deploy(task, pom, artifacts, releaseRepository, snapshotRepository, 0);
+    }
+
+    /**
+     * Deploys the specified artifacts to the configured remote repository (release or snapshot), uploading the given
+     * number of files concurrently. The repository metadata is only uploaded once all artifact files have been
+     * uploaded successfully.
+     *
+     * @param task the Ant task context
+     * @param pom the associated POM metadata
+     * @param artifacts the artifacts to deploy
+     * @param releaseRepository the repository for release artifacts
+     * @param snapshotRepository the repository for snapshot artifacts
+     * @param parallelism the number of concurrent uploads, {@code 0} to use the defaults of the resolver
+     * @throws BuildException if the deployment fails
+     */
+    public void deploy(
+            Task task,
+            Pom pom,
+            Artifacts artifacts,
+            RemoteRepository releaseRepository,
+            RemoteRepository snapshotRepository,
+            int parallelism) {
+        deploy(task, Collections.singletonMap(pom, artifacts), releaseRepository, snapshotRepository, parallelism);
+    }
+
+    /**
+     * Deploys the artifacts of several modules using a single session. All modules targeting the same repository are
+     * deployed by one request, so their files are uploaded concurrently and the repository metadata is updated in
+     * one pass after all artifact files have been uploaded successfully.
+     *
+     * @param task the Ant task context
+     * @param modules the POMs of the modules mapped to their artifacts, deployed in iteration order
+     * @param releaseRepository the repository for release artifacts
+     * @param snapshotRepository the repository for snapshot artifacts
+     * @param parallelism the number of concurrent uploads, {@code 0} to use the defaults of the resolver
+     * @throws BuildException if the deployment fails
+     */
+    public void deploy(
+            Task task,
+            Map<Pom, Artifacts> modules,
+            RemoteRepository releaseRepository,
+            RemoteRepository snapshotRepository,
+            int parallelism) {
+        RepositorySystemSession session = getDeploySession(task, parallelism);
+
+        Map<RemoteRepository, DeployRequest> requests = new LinkedHashMap<>();
+        for (Map.Entry<Pom, Artifacts> module : modules.entrySet()) {
+            List<org.eclipse.aether.artifact.Artifact> artifacts =
+                    toArtifacts(task, session, module.getKey(), module.getValue());
+            boolean snapshot = artifacts.get(0).isSnapshot();
+            RemoteRepository distRepo =
+                    (snapshot && snapshotRepository != null) ? snapshotRepository : releaseRepository;
+            DeployRequest request = requests.get(distRepo);
+            if (request == null) {
+                request = new DeployRequest();
+                request.setRepository(ConverterUtils.toDistRepository(distRepo, session));
+                requests.put(distRepo, request);
+            }
+            for (org.eclipse.aether.artifact.Artifact artifact : artifacts) {
+                request.addArtifact(artifact);
+            }
+        }
+
+        for (DeployRequest request : requests.values()) {
+            try {
+                getSystem().deploy(session, request);
+            } catch (DeploymentException e) {
+                throw new BuildException("Could not deploy artifacts: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Stages the specified artifacts for a later deployment. The artifacts are installed in repository layout into the
+     * staging directory and recorded in its manifest, so several modules can be staged before they are pushed.
+     *
+     * @param task the Ant task context
+     * @param pom the associated POM metadata
+     * @param artifacts the artifacts to stage
+     * @param stagingDir the staging directory
+     * @throws BuildException if the artifacts cannot be staged
+     */
+    public void stage(Task task, Pom pom, Artifacts artifacts, File stagingDir) {
         RepositorySystemSession session = getSession(task, null);
 
-        DeployRequest request = new DeployRequest();
+        DefaultRepositorySystemSession stagingSession = new DefaultRepositorySystemSession(session);
+        stagingSession.setCache(null);
+        stagingSession.setLocalRepositoryManager(getSystem()
+                .newLocalRepositoryManager(
+                        stagingSession, new org.eclipse.aether.repository.LocalRepository(stagingDir, "simple")));
+
+        InstallRequest request = new InstallRequest();
         request.setArtifacts(toArtifacts(task, session, pom, artifacts));
-        boolean snapshot = request.getArtifacts().iterator().next().isSnapshot();
-        RemoteRepository distRepo = (snapshot && snapshotRepository != null) ? snapshotRepository : releaseRepository;
-        request.setRepository(ConverterUtils.toDistRepository(distRepo, session));
 
+        task.getProject().log("Staging " + pom.getCoords() + " in " + stagingDir, Project.MSG_VERBOSE);
         try {
-            getSystem().deploy(session, request);
-        } catch (DeploymentException e) {
-            throw new BuildException("Could not deploy artifacts: " + e.getMessage(), e);
+            getSystem().install(stagingSession, request);
+        } catch (InstallationException e) {
+            throw new BuildException("Could not stage artifacts: " + e.getMessage(), e);
         }
+
+        Map<org.eclipse.aether.artifact.Artifact, String> paths = new LinkedHashMap<>();
+        for (org.eclipse.aether.artifact.Artifact artifact : request.getArtifacts()) {
+            paths.put(artifact, stagingSession.getLocalRepositoryManager().getPathForLocalArtifact(artifact));
+        }
+        StagingDirectory.of(stagingDir).addArtifacts(paths);
+    }
+
+    /**
+     * Deploys all artifacts staged in the given directory. The artifacts are deployed in batches of one
+     * {@code groupId:artifactId} each, several batches at a time. Completed batches are recorded, so if the push is
+     * interrupted, running it again only deploys the remaining batches.
+     *
+     * @param task the Ant task context
+     * @param stagingDir the staging directory
+     * @param releaseRepository the repository for release artifacts
+     * @param snapshotRepository the repository for snapshot artifacts
+     * @param parallelism the number of concurrent uploads, {@code 0} to use the defaults of the resolver
+     * @throws BuildException if nothing has been staged or the deployment fails
+     */
+    public void push(
+            Task task,
+            File stagingDir,
+            RemoteRepository releaseRepository,
+            RemoteRepository snapshotRepository,
+            int parallelism) {
+        StagingDirectory staging = StagingDirectory.of(stagingDir);
+        Map<String, List<org.eclipse.aether.artifact.Artifact>> batches = staging.getBatches();
+        if (batches.isEmpty()) {
+            throw new BuildException("No artifacts have been staged in " + stagingDir);
+        }
+        Set<String> pushed = staging.getPushedBatches();
+
+        RepositorySystemSession session = getDeploySession(task, parallelism);
+        org.eclipse.aether.repository.RemoteRepository releaseRepo =
+                ConverterUtils.toDistRepository(releaseRepository, session);
+        org.eclipse.aether.repository.RemoteRepository snapshotRepo = snapshotRepository != null
+                ? ConverterUtils.toDistRepository(snapshotRepository, session)
+                : releaseRepo;
+
+        int threads = Math.max(1, Math.min(batches.size(), parallelism > 0 ? parallelism : DEFAULT_PUSH_THREADS));
+        ExecutorService executor = ExecutorUtils.threadPool(threads, getClass().getSimpleName() + "-push-");
+        Map<String, Future<?>> futures = new LinkedHashMap<>();
+        try {
+            for (Map.Entry<String, List<org.eclipse.aether.artifact.Artifact>> batch : batches.entrySet()) {
+                if (pushed.contains(batch.getKey())) {
+                    task.getProject().log("Skipping " + batch.getKey() + ", already pushed", Project.MSG_VERBOSE);
+                    continue;
+                }
+                DeployRequest request = new DeployRequest();
+                request.setArtifacts(batch.getValue());
+                request.setRepository(batch.getValue().get(0).isSnapshot() ? snapshotRepo : releaseRepo);
+                futures.put(batch.getKey(), executor.submit(() -> {
+                    getSystem().deploy(session, request);
+                    staging.markPushed(batch.getKey());
+                    return null;
+                }));
+            }
+        } finally {
+            ExecutorUtils.shutdown(executor);
+        }
+
+        BuildException failure = null;
+        for (Map.Entry<String, Future<?>> future : futures.entrySet()) {
+            try {
+                future.getValue().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BuildException("Interrupted while pushing " + stagingDir, e);
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = new BuildException(
+                            "Could not deploy " + future.getKey() + ": " + e.getCause().getMessage()
+                                    + ", run the push again to deploy the remaining artifacts",
+                            e.getCause());
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+
+        staging.complete();
+    }
+
+    /**
+     * Returns a session for deployments. The basic connector uploads the files of one request in parallel unless told
+     * otherwise, the metadata is put by a separate request after all artifacts have been uploaded.
+     */
+    private RepositorySystemSession getDeploySession(Task task, int parallelism) {
+        RepositorySystemSession session = getSession(task, null);
+        if (parallelism <= 0) {
+            return session;
+        }
+        DefaultRepositorySystemSession deploySession = new DefaultRepositorySystemSession(session);
+        deploySession.setConfigProperty(CONFIG_PROP_PARALLEL_PUT, parallelism > 1);
+        deploySession.setConfigProperty(CONFIG_PROP_THREADS, parallelism);
+        return deploySession;
     }
 
     private List<org.eclipse.aether.artifact.Artifact> toArtifacts(
@@ -908,4 +1833,136 @@ public class AntRepoSys {
 
         return results;
     }
+
+    /**
+     * Stops the progress reports of the given task and logs the summary of its transfers, if any.
+     */
+    private void logTransfers(Task task) {
+        if (task instanceof UnknownElement) {
+            Object realThing = ((UnknownElement) task).getRealThing();
+            if (realThing instanceof Task) {
+                task = (Task) realThing;
+            }
+        }
+        TransferProgress progress = transferProgress.remove(task);
+        if (progress != null) {
+            progress.cancel();
+        }
+        TransferStatistics statistics = transferStatistics.remove(task);
+        if (statistics != null) {
+            for (String line : statistics.summarize()) {
+                task.log(line);
+            }
+        }
+    }
+
+    /**
+     * Exposes the metrics as properties if {@link Names#PROPERTY_METRICS_PREFIX} is set and they changed since the
+     * last export.
+     */
+    private void exportMetrics() {
+        String prefix = project.getProperty(Names.PROPERTY_METRICS_PREFIX);
+        long updates = metrics.getUpdates();
+        if (prefix == null || updates == exportedMetrics) {
+            return;
+        }
+        exportedMetrics = updates;
+        for (Map.Entry<String, Long> metric : metrics.toMap().entrySet()) {
+            project.setProperty(prefix + '.' + metric.getKey(), String.valueOf(metric.getValue()));
+        }
+    }
+
+    /**
+     * Closes this instance once the build of the project, or the sub-build created by {@code <ant>} or
+     * {@code <antcall>}, finishes, and passes the workspace on to the sub-builds started meanwhile. Sub-projects inherit
+     * the listeners of their parent, hence only the own project is closed.
+     */
+    private final class LifecycleListener implements SubBuildListener {
+
+        @Override
+        public void buildStarted(BuildEvent event) {}
+
+        @Override
+        public void buildFinished(BuildEvent event) {
+            close(event);
+        }
+
+        /**
+         * Passes the workspace to sub-builds neither naming one nor having chosen their own yet, as inherited user
+         * property so their own sub-builds get it as well.
+         */
+        @Override
+        public void subBuildStarted(BuildEvent event) {
+            Project subProject = event.getProject();
+            Object instance = subProject.getReference(Names.ID);
+            if (subProject != project
+                    && !(instance instanceof AntRepoSys && !((AntRepoSys) instance).closed)
+                    && subProject.getProperty(Names.PROPERTY_WORKSPACE) == null) {
+                subProject.setInheritedProperty(Names.PROPERTY_WORKSPACE, workspace.getName());
+            }
+        }
+
+        @Override
+        public void subBuildFinished(BuildEvent event) {
+            close(event);
+        }
+
+        private void close(BuildEvent event) {
+            if (event.getProject() == project) {
+                project.removeBuildListener(this);
+                AntRepoSys.this.close();
+            }
+        }
+
+        @Override
+        public void targetStarted(BuildEvent event) {}
+
+        @Override
+        public void targetFinished(BuildEvent event) {}
+
+        @Override
+        public void taskStarted(BuildEvent event) {}
+
+        @Override
+        public void taskFinished(BuildEvent event) {
+            if (event.getProject() == project) {
+                logTransfers(event.getTask());
+                exportMetrics();
+            }
+        }
+
+        @Override
+        public void messageLogged(BuildEvent event) {}
+    }
+
+    /**
+     * An effective model together with the fingerprint of its POM file and the inputs it was built from. The model
+     * is never handed out itself, only copies of it.
+     */
+    private static final class CachedModel {
+
+        private final List<Object> key;
+
+        private final Model model;
+
+        CachedModel(List<Object> key, Model model) {
+            this.key = key;
+            this.model = model;
+        }
+    }
+
+    /**
+     * A read-only session together with the inputs it was created from.
+     */
+    private static final class SessionTemplate {
+
+        private final List<Object> key;
+
+        private final RepositorySystemSession session;
+
+        SessionTemplate(List<Object> key, RepositorySystemSession session) {
+            this.key = key;
+            this.session = session;
+        }
+    }
 }
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.resolver.internal.ant;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.aether.RepositoryCache;
+import org.eclipse.aether.RepositorySystemSession;
+
+/**
+ * A size bounded {@link RepositoryCache} shared by all sessions created by one {@link AntRepoSys} instance.
+ * <p>
+ * The resolver stores descriptor pools, version resolution results and raw models in the session cache. Sharing
+ * one cache across the tasks of a build allows later {@code <resolve>}, {@code <pom>}, {@code <install>} and
+ * {@code <deploy>} tasks to reuse that work. Once the configured number of entries is exceeded, the least recently
+ * used entries are evicted.
+ * </p>
+ * <p>
+ * The bound counts entries, not bytes. Some entries are large: the resolver keeps its whole pool of artifact
+ * descriptors and dependency management data under a single key, which counts as one entry however many descriptors
+ * it holds. The bound therefore limits the number of distinct cached results rather than the memory of the cache.
+ * </p>
+ */
+class AntRepositoryCache implements RepositoryCache {
+
+    /**
+     * The default maximum number of entries kept in the cache, regardless of their size.
+     */
+    static final int DEFAULT_MAX_ENTRIES = 10000;
+
+    private final Map<Object, Object> cache;
+
+    private final ResolverMetrics metrics;
+
+    AntRepositoryCache(final int maxEntries) {
+        this(maxEntries, null);
+    }
+
+    /**
+     * Creates a cache reporting its hits and misses to the given metrics.
+     *
+     * @param maxEntries the maximum number of entries, not bytes
+     * @param metrics the metrics to report to, may be {@code null}
+     */
+    AntRepositoryCache(final int maxEntries, final ResolverMetrics metrics) {
+        this.metrics = metrics;
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+        this.cache = new LinkedHashMap<Object, Object>(256, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Object, Object> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public void put(final RepositorySystemSession session, final Object key, final Object data) {
+        synchronized (cache) {
+            if (data != null) {
+                cache.put(key, data);
+            } else {
+                cache.remove(key);
+            }
+        }
+    }
+
+    @Override
+    public Object get(final RepositorySystemSession session, final Object key) {
+        Object data;
+        synchronized (cache) {
+            data = cache.get(key);
+        }
+        if (metrics != null) {
+            metrics.increment(data != null ? "repositoryCache.hits" : "repositoryCache.misses");
+        }
+        return data;
+    }
+
+    /**
+     * Returns the number of entries currently cached.
+     *
+     * @return the number of cached entries
+     */
+    int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * Discards all cached entries.
+     */
+    void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+}
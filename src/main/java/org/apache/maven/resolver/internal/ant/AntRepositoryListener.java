@@ -27,14 +27,24 @@ import org.eclipse.aether.RepositoryEvent;
 import org.eclipse.aether.transfer.MetadataNotFoundException;
 
 /**
- * Logs repository events like installed and unresolved artifacts and metadata.
+ * Logs repository events like installed and unresolved artifacts and metadata and counts the descriptor reads.
  */
 class AntRepositoryListener extends AbstractRepositoryListener {
 
     private final Task task;
 
-    AntRepositoryListener(final Task task) {
+    private final ResolverMetrics metrics;
+
+    AntRepositoryListener(final Task task, final ResolverMetrics metrics) {
         this.task = task;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void artifactResolved(final RepositoryEvent event) {
+        if (event.getArtifact() != null && "pom".equals(event.getArtifact().getExtension())) {
+            metrics.increment("descriptorReads");
+        }
     }
 
     @Override
@@ -21,7 +21,9 @@ package org.apache.maven.resolver.internal.ant;
 import org.apache.maven.model.building.ModelBuilder;
 import org.eclipse.aether.impl.RemoteRepositoryManager;
 import org.eclipse.aether.impl.UpdatePolicyAnalyzer;
+import org.eclipse.aether.internal.impl.synccontext.named.NamedLockFactoryAdapterFactory;
 import org.eclipse.aether.spi.connector.checksum.ChecksumPolicyProvider;
+import org.eclipse.aether.spi.synccontext.SyncContextFactory;
 import org.eclipse.aether.supplier.RepositorySystemSupplier;
 
 /**
@@ -79,4 +81,17 @@ public class AntRepositorySystemSupplier extends RepositorySystemSupplier {
         remoteRepositoryManager = super.getRemoteRepositoryManager(updatePolicyAnalyzer, checksumPolicyProvider);
         return remoteRepositoryManager;
     }
+
+    /**
+     * Returns the {@link SyncContextFactory} wrapped to report the time spent waiting for locks to the
+     * {@link ResolverMetrics} of the session.
+     *
+     * @param namedLockFactoryAdapterFactory the factory of the named locks
+     * @return the {@link SyncContextFactory} guarding concurrent access to the local repository
+     */
+    @Override
+    protected SyncContextFactory getSyncContextFactory(NamedLockFactoryAdapterFactory namedLockFactoryAdapterFactory) {
+        return new ResolverMetrics.TimingSyncContextFactory(
+                super.getSyncContextFactory(namedLockFactoryAdapterFactory));
+    }
 }
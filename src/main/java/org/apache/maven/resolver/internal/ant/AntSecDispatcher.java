@@ -18,6 +18,7 @@
  */
 package org.apache.maven.resolver.internal.ant;
 
+import java.io.File;
 import java.util.Collections;
 
 import org.sonatype.plexus.components.cipher.DefaultPlexusCipher;
@@ -27,7 +28,20 @@ import org.sonatype.plexus.components.sec.dispatcher.DefaultSecDispatcher;
  */
 class AntSecDispatcher extends DefaultSecDispatcher {
 
+    private static final String CONFIGURATION_FILE = "~/.m2/settings-security.xml";
+
     AntSecDispatcher() {
-        super(new DefaultPlexusCipher(), Collections.emptyMap(), "~/.m2/settings-security.xml");
+        super(new DefaultPlexusCipher(), Collections.emptyMap(), CONFIGURATION_FILE);
+    }
+
+    /**
+     * Returns the settings security file holding the master password, as located by the dispatcher.
+     */
+    static File getSecuritySettingsFile() {
+        String location = System.getProperty(SYSTEM_PROPERTY_SEC_LOCATION, CONFIGURATION_FILE);
+        if (location.startsWith("~")) {
+            location = System.getProperty("user.home") + location.substring(1);
+        }
+        return new File(location);
     }
 }
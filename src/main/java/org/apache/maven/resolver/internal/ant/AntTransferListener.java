@@ -18,10 +18,6 @@
  */
 package org.apache.maven.resolver.internal.ant;
 
-import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
-import java.util.Locale;
-
 import org.apache.tools.ant.Project;
 import org.apache.tools.ant.Task;
 import org.eclipse.aether.transfer.AbstractTransferListener;
@@ -30,14 +26,28 @@ import org.eclipse.aether.transfer.TransferEvent;
 import org.eclipse.aether.transfer.TransferResource;
 
 /**
- * Logs up- and downloads.
+ * Logs up- and downloads at verbose level, reports the progress of long running transfers and aggregates them in the
+ * transfer statistics of the task and the metrics of the build.
  */
 class AntTransferListener extends AbstractTransferListener {
 
     private final Task task;
 
-    AntTransferListener(final Task task) {
+    private final TransferStatistics statistics;
+
+    private final ResolverMetrics metrics;
+
+    private final TransferProgress progress;
+
+    AntTransferListener(
+            final Task task,
+            final TransferStatistics statistics,
+            final ResolverMetrics metrics,
+            final TransferProgress progress) {
         this.task = task;
+        this.statistics = statistics;
+        this.metrics = metrics;
+        this.progress = progress;
     }
 
     @Override
@@ -47,7 +57,22 @@ class AntTransferListener extends AbstractTransferListener {
         msg += " " + event.getResource().getRepositoryId();
         msg += " " + event.getResource().getRepositoryUrl()
                 + event.getResource().getResourceName();
-        task.log(msg);
+        task.log(msg, Project.MSG_VERBOSE);
+    }
+
+    @Override
+    public void transferStarted(final TransferEvent event) throws TransferCancelledException {
+        progress.started(event.getResource());
+    }
+
+    @Override
+    public void transferProgressed(final TransferEvent event) throws TransferCancelledException {
+        progress.progressed(event.getResource(), event.getDataLength());
+    }
+
+    @Override
+    public void transferFailed(final TransferEvent event) {
+        progress.finished(event.getResource());
     }
 
     @Override
@@ -61,27 +86,24 @@ class AntTransferListener extends AbstractTransferListener {
 
     @Override
     public void transferSucceeded(final TransferEvent event) {
+        final TransferResource resource = event.getResource();
+        progress.finished(resource);
+        final long contentLength = event.getTransferredBytes();
+        final long start = resource.getTransferStartTime();
+        final long end = System.currentTimeMillis();
+        statistics.add(resource.getRepositoryId(), event.getRequestType(), contentLength, start, end);
+        metrics.addTransfer(resource.getRepositoryId(), event.getRequestType(), contentLength, start, end);
+
         String msg = event.getRequestType() == TransferEvent.RequestType.PUT ? "Uploaded" : "Downloaded";
         msg += event.getRequestType() == TransferEvent.RequestType.PUT ? " to" : " from";
-        msg += " " + event.getResource().getRepositoryId();
-        msg += " " + event.getResource().getRepositoryUrl()
-                + event.getResource().getResourceName();
+        msg += " " + resource.getRepositoryId();
+        msg += " " + resource.getRepositoryUrl() + resource.getResourceName();
 
-        final long contentLength = event.getTransferredBytes();
         if (contentLength >= 0) {
-            final String len = contentLength >= 1024 ? ((contentLength + 1023) / 1024) + " KB" : contentLength + " B";
-
-            String throughput = "";
-            final long duration =
-                    System.currentTimeMillis() - event.getResource().getTransferStartTime();
-            if (duration > 0) {
-                final DecimalFormat format = new DecimalFormat("0.0", new DecimalFormatSymbols(Locale.ENGLISH));
-                final double kbPerSec = (contentLength / 1024.0) / (duration / 1000.0);
-                throughput = " at " + format.format(kbPerSec) + " KB/sec";
-            }
-
-            msg += " (" + len + throughput + ")";
+            final long duration = end - start;
+            msg += " (" + TransferStatistics.formatBytes(contentLength)
+                    + (duration > 0 ? " at " + TransferStatistics.formatRate(contentLength, duration) : "") + ")";
         }
-        task.log(msg);
+        task.log(msg, Project.MSG_VERBOSE);
     }
 }
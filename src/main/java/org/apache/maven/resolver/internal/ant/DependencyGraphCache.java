@@ -0,0 +1,546 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.resolver.internal.ant;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.collection.CollectResult;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.graph.Exclusion;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.repository.RepositoryPolicy;
+import org.eclipse.aether.repository.WorkspaceReader;
+import org.eclipse.aether.util.version.GenericVersionScheme;
+import org.eclipse.aether.version.InvalidVersionSpecificationException;
+import org.eclipse.aether.version.VersionScheme;
+
+/**
+ * A persistent cache of collected dependency graphs.
+ * <p>
+ * Each graph is stored in its own file, named after a hash of everything that affects dependency collection: the
+ * root and managed dependencies including their exclusions, the remote repositories, the request context, the local
+ * repository and the relevant session configuration. Graphs containing snapshots, version ranges or artifacts of the
+ * current build are never stored, as their result may change without any change of the inputs. Credentials of the
+ * remote repositories are never written, repositories are mapped back onto the configured ones when a graph is
+ * loaded.
+ * </p>
+ */
+final class DependencyGraphCache {
+
+    private static final int FORMAT = 1;
+
+    private static final String MAGIC = "resolver-ant-tasks-graph";
+
+    private static final String EXTENSION = ".graph";
+
+    private final File dir;
+
+    private static final VersionScheme VERSION_SCHEME = new GenericVersionScheme();
+
+    DependencyGraphCache(File dir) {
+        this.dir = dir;
+    }
+
+    /**
+     * Returns the cache file for the given collect request.
+     *
+     * @param session the session the request is executed with
+     * @param request the collect request
+     * @return the cache file, which may not exist
+     */
+    File getFile(RepositorySystemSession session, CollectRequest request) {
+        return new File(dir, getKey(session, request) + EXTENSION);
+    }
+
+    static String getKey(RepositorySystemSession session, CollectRequest request) {
+        StringBuilder buffer = new StringBuilder(1024);
+        buffer.append(MAGIC).append(':').append(FORMAT).append('\n');
+        buffer.append("context=").append(request.getRequestContext()).append('\n');
+        buffer.append("localRepository=")
+                .append(session.getLocalRepository().getBasedir().getAbsolutePath())
+                .append('\n');
+        buffer.append("offline=").append(session.isOffline()).append('\n');
+        if (request.getRoot() != null) {
+            buffer.append("root=");
+            appendDependency(buffer, request.getRoot());
+        }
+        if (request.getRootArtifact() != null) {
+            buffer.append("rootArtifact=").append(request.getRootArtifact()).append('\n');
+        }
+        for (Dependency dependency : request.getDependencies()) {
+            buffer.append("dependency=");
+            appendDependency(buffer, dependency);
+        }
+        for (Dependency dependency : request.getManagedDependencies()) {
+            buffer.append("managed=");
+            appendDependency(buffer, dependency);
+        }
+        for (RemoteRepository repository : request.getRepositories()) {
+            buffer.append("repository=");
+            appendRepository(buffer, repository);
+        }
+        appendProperties(buffer, "user", session.getUserProperties());
+        appendProperties(buffer, "config", session.getConfigProperties());
+        for (String key : new String[] {"java.version", "os.name", "os.arch", "os.version"}) {
+            buffer.append("system.")
+                    .append(key)
+                    .append('=')
+                    .append(session.getSystemProperties().get(key))
+                    .append('\n');
+        }
+        return Digests.sha1(buffer.toString());
+    }
+
+    private static void appendDependency(StringBuilder buffer, Dependency dependency) {
+        Artifact artifact = dependency.getArtifact();
+        buffer.append(artifact)
+                .append(' ')
+                .append(dependency.getScope())
+                .append(' ')
+                .append(dependency.getOptional());
+        File file = artifact.getFile();
+        if (file != null) {
+            buffer.append(' ').append(file.getAbsolutePath());
+        }
+        String localPath = artifact.getProperty("localPath", null);
+        if (localPath != null) {
+            buffer.append(' ').append(localPath);
+        }
+        for (Exclusion exclusion : dependency.getExclusions()) {
+            buffer.append(" -").append(exclusion);
+        }
+        buffer.append('\n');
+    }
+
+    private static void appendRepository(StringBuilder buffer, RemoteRepository repository) {
+        buffer.append(repository.getId())
+                .append(' ')
+                .append(repository.getContentType())
+                .append(' ')
+                .append(repository.getUrl())
+                .append(' ')
+                .append(repository.getPolicy(false).isEnabled())
+                .append(' ')
+                .append(repository.getPolicy(true).isEnabled())
+                .append('\n');
+    }
+
+    /**
+     * Appends the properties that influence dependency collection, i.e. the user properties used for model
+     * interpolation and profile activation and the resolver configuration. Volatile entries like the start time of
+     * the build or the targets Ant was invoked with are skipped.
+     */
+    private static void appendProperties(StringBuilder buffer, String prefix, Map<?, ?> properties) {
+        Map<String, String> sorted = new TreeMap<>();
+        for (Map.Entry<?, ?> entry : properties.entrySet()) {
+            String key = String.valueOf(entry.getKey());
+            boolean relevant = "user".equals(prefix)
+                    ? !key.startsWith("ant.")
+                    : key.startsWith("aether.") || key.startsWith("maven.resolver.");
+            if (relevant) {
+                sorted.put(key, String.valueOf(entry.getValue()));
+            }
+        }
+        for (Map.Entry<String, String> entry : sorted.entrySet()) {
+            buffer.append(prefix)
+                    .append('.')
+                    .append(entry.getKey())
+                    .append('=')
+                    .append(entry.getValue())
+                    .append('\n');
+        }
+    }
+
+    /**
+     * Tells whether the given graph may be stored, i.e. whether its content only depends on the inputs of the request.
+     *
+     * @param session the session the graph was collected with
+     * @param root the root of the collected graph
+     * @return {@code true} if the graph can be cached
+     */
+    static boolean isCacheable(RepositorySystemSession session, DependencyNode root) {
+        return isCacheable(session.getWorkspaceReader(), root, new IdentityHashMap<>());
+    }
+
+    private static boolean isCacheable(
+            WorkspaceReader workspace, DependencyNode node, Map<DependencyNode, Boolean> visited) {
+        if (visited.put(node, Boolean.TRUE) != null) {
+            return true;
+        }
+        Artifact artifact = node.getArtifact();
+        if (artifact != null) {
+            if (artifact.isSnapshot()) {
+                return false;
+            }
+            if (workspace != null && !workspace.findVersions(artifact).isEmpty()) {
+                return false;
+            }
+        }
+        if (node.getVersionConstraint() != null && node.getVersionConstraint().getRange() != null) {
+            return false;
+        }
+        for (DependencyNode child : node.getChildren()) {
+            if (!isCacheable(workspace, child, visited)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Loads the graph stored for the given request.
+     *
+     * @param system the repository system, used to apply mirrors, proxies and authentication to repositories that are
+     *            not part of the request
+     * @param session the session the request is executed with
+     * @param request the collect request
+     * @return the cached result or {@code null} if none is available
+     * @throws IOException if the cache file cannot be read
+     */
+    CollectResult load(RepositorySystem system, RepositorySystemSession session, CollectRequest request)
+            throws IOException {
+        File file = getFile(session, request);
+        if (!file.isFile()) {
+            return null;
+        }
+        try (DataInputStream in =
+                new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            if (!MAGIC.equals(in.readUTF()) || in.readInt() != FORMAT) {
+                return null;
+            }
+            Reader reader = new Reader(in, system, session, request.getRepositories());
+            CollectResult result = new CollectResult(request);
+            result.setRoot(reader.readNode());
+            return result;
+        }
+    }
+
+    /**
+     * Stores the given graph for the given request. The file is written atomically so concurrent builds sharing the
+     * cache never see partial content.
+     *
+     * @param session the session the request was executed with
+     * @param request the collect request
+     * @param root the root of the collected graph
+     * @throws IOException if the cache file cannot be written
+     */
+    void store(RepositorySystemSession session, CollectRequest request, DependencyNode root) throws IOException {
+        File file = getFile(session, request);
+        Files.createDirectories(dir.toPath());
+        Path tmp = Files.createTempFile(dir.toPath(), file.getName(), ".tmp");
+        try {
+            try (DataOutputStream out =
+                    new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeUTF(MAGIC);
+                out.writeInt(FORMAT);
+                new Writer(out).writeNode(root);
+            }
+            Files.move(tmp, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Writes dependency graphs in the format of the cache files.
+     */
+    static final class Writer {
+
+        private final DataOutputStream out;
+
+        private final Map<DependencyNode, Integer> nodes = new IdentityHashMap<>();
+
+        Writer(DataOutputStream out) {
+            this.out = out;
+        }
+
+        void writeNode(DependencyNode node) throws IOException {
+            Integer index = nodes.get(node);
+            if (index != null) {
+                out.writeInt(index);
+                return;
+            }
+            out.writeInt(-1);
+            nodes.put(node, nodes.size());
+
+            Dependency dependency = node.getDependency();
+            if (dependency != null) {
+                out.writeByte('d');
+                writeDependency(dependency);
+            } else if (node.getArtifact() != null) {
+                out.writeByte('a');
+                writeArtifact(node.getArtifact());
+            } else {
+                out.writeByte('n');
+            }
+
+            writeString(node.getRequestContext());
+            out.writeInt(node.getManagedBits());
+            writeString(node.getVersion() != null ? node.getVersion().toString() : null);
+            writeString(node.getVersionConstraint() != null ? node.getVersionConstraint().toString() : null);
+
+            writeArtifacts(node.getRelocations());
+            writeArtifacts(node.getAliases());
+
+            out.writeInt(node.getRepositories().size());
+            for (RemoteRepository repository : node.getRepositories()) {
+                writeRepository(repository);
+            }
+
+            out.writeInt(node.getChildren().size());
+            for (DependencyNode child : node.getChildren()) {
+                writeNode(child);
+            }
+        }
+
+        void writeDependency(Dependency dependency) throws IOException {
+            writeArtifact(dependency.getArtifact());
+            out.writeUTF(dependency.getScope());
+            writeString(dependency.getOptional() != null ? dependency.getOptional().toString() : null);
+            out.writeInt(dependency.getExclusions().size());
+            for (Exclusion exclusion : dependency.getExclusions()) {
+                out.writeUTF(exclusion.getGroupId());
+                out.writeUTF(exclusion.getArtifactId());
+                out.writeUTF(exclusion.getClassifier());
+                out.writeUTF(exclusion.getExtension());
+            }
+        }
+
+        void writeRepository(RemoteRepository repository) throws IOException {
+            out.writeUTF(repository.getId());
+            out.writeUTF(repository.getContentType());
+            out.writeUTF(repository.getUrl());
+            writePolicy(repository.getPolicy(false));
+            writePolicy(repository.getPolicy(true));
+        }
+
+        void writeString(String value) throws IOException {
+            out.writeBoolean(value != null);
+            if (value != null) {
+                out.writeUTF(value);
+            }
+        }
+
+        private void writeArtifacts(Collection<? extends Artifact> artifacts) throws IOException {
+            out.writeInt(artifacts.size());
+            for (Artifact artifact : artifacts) {
+                writeArtifact(artifact);
+            }
+        }
+
+        private void writeArtifact(Artifact artifact) throws IOException {
+            out.writeUTF(artifact.getGroupId());
+            out.writeUTF(artifact.getArtifactId());
+            out.writeUTF(artifact.getClassifier());
+            out.writeUTF(artifact.getExtension());
+            out.writeUTF(artifact.getVersion());
+            Map<String, String> properties = artifact.getProperties();
+            out.writeInt(properties.size());
+            for (Map.Entry<String, String> entry : properties.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeUTF(entry.getValue());
+            }
+        }
+
+        private void writePolicy(RepositoryPolicy policy) throws IOException {
+            out.writeBoolean(policy.isEnabled());
+            out.writeUTF(policy.getUpdatePolicy());
+            out.writeUTF(policy.getChecksumPolicy());
+        }
+
+    }
+
+    /**
+     * Reads dependency graphs written by a {@link Writer}, mapping their repositories onto the given ones.
+     */
+    static final class Reader {
+
+        private final DataInputStream in;
+
+        private final RepositorySystem system;
+
+        private final RepositorySystemSession session;
+
+        private final Map<String, RemoteRepository> repositories = new LinkedHashMap<>();
+
+        private final List<DependencyNode> nodes = new ArrayList<>();
+
+        Reader(
+                DataInputStream in,
+                RepositorySystem system,
+                RepositorySystemSession session,
+                List<RemoteRepository> repositories) {
+            this.in = in;
+            this.system = system;
+            this.session = session;
+            for (RemoteRepository repository : repositories) {
+                this.repositories.put(repository.getId() + ' ' + repository.getUrl(), repository);
+            }
+        }
+
+        DependencyNode readNode() throws IOException {
+            int index = in.readInt();
+            if (index >= 0) {
+                if (index >= nodes.size()) {
+                    throw new IOException("Invalid node reference " + index);
+                }
+                return nodes.get(index);
+            }
+
+            DefaultDependencyNode node;
+            int kind = in.readByte();
+            if (kind == 'd') {
+                node = new DefaultDependencyNode(readDependency());
+            } else if (kind == 'a') {
+                node = new DefaultDependencyNode(readArtifact());
+            } else if (kind == 'n') {
+                node = new DefaultDependencyNode((Dependency) null);
+            } else {
+                throw new IOException("Invalid node kind " + kind);
+            }
+            nodes.add(node);
+
+            node.setRequestContext(readString());
+            node.setManagedBits(in.readInt());
+            try {
+                String version = readString();
+                if (version != null) {
+                    node.setVersion(VERSION_SCHEME.parseVersion(version));
+                }
+                String constraint = readString();
+                if (constraint != null) {
+                    node.setVersionConstraint(VERSION_SCHEME.parseVersionConstraint(constraint));
+                }
+            } catch (InvalidVersionSpecificationException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+
+            node.setRelocations(readArtifacts());
+            node.setAliases(readArtifacts());
+
+            int count = in.readInt();
+            List<RemoteRepository> repos = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                repos.add(readRepository());
+            }
+            node.setRepositories(repos);
+
+            count = in.readInt();
+            List<DependencyNode> children = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                children.add(readNode());
+            }
+            node.setChildren(children);
+
+            return node;
+        }
+
+        Dependency readDependency() throws IOException {
+            Artifact artifact = readArtifact();
+            String scope = in.readUTF();
+            String optional = readString();
+            int count = in.readInt();
+            List<Exclusion> exclusions = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                exclusions.add(new Exclusion(in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF()));
+            }
+            return new Dependency(artifact, scope, optional != null ? Boolean.valueOf(optional) : null, exclusions);
+        }
+
+        /**
+         * Reads a repository as written, without mapping it onto the configured repositories.
+         */
+        RemoteRepository readRawRepository() throws IOException {
+            String id = in.readUTF();
+            String contentType = in.readUTF();
+            String url = in.readUTF();
+            return new RemoteRepository.Builder(id, contentType, url)
+                    .setReleasePolicy(readPolicy())
+                    .setSnapshotPolicy(readPolicy())
+                    .build();
+        }
+
+        String readString() throws IOException {
+            return in.readBoolean() ? in.readUTF() : null;
+        }
+
+        private List<Artifact> readArtifacts() throws IOException {
+            int count = in.readInt();
+            List<Artifact> artifacts = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                artifacts.add(readArtifact());
+            }
+            return artifacts;
+        }
+
+        private Artifact readArtifact() throws IOException {
+            String groupId = in.readUTF();
+            String artifactId = in.readUTF();
+            String classifier = in.readUTF();
+            String extension = in.readUTF();
+            String version = in.readUTF();
+            int count = in.readInt();
+            Map<String, String> properties = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                properties.put(in.readUTF(), in.readUTF());
+            }
+            return new DefaultArtifact(groupId, artifactId, classifier, extension, version, properties, (File) null);
+        }
+
+        private RemoteRepository readRepository() throws IOException {
+            RemoteRepository raw = readRawRepository();
+            String key = raw.getId() + ' ' + raw.getUrl();
+            RemoteRepository repository = repositories.get(key);
+            if (repository == null) {
+                List<RemoteRepository> repos = new ArrayList<>();
+                repos.add(raw);
+                repository = system.newResolutionRepositories(session, repos).get(0);
+                repositories.put(key, repository);
+            }
+            return repository;
+        }
+
+        private RepositoryPolicy readPolicy() throws IOException {
+            return new RepositoryPolicy(in.readBoolean(), in.readUTF(), in.readUTF());
+        }
+
+    }
+}
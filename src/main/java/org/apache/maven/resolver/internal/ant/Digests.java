@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.resolver.internal.ant;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Helpers for the SHA-1 digests used to fingerprint files, requests and task inputs.
+ */
+public final class Digests {
+
+    private Digests() {
+        // hide constructor
+    }
+
+    /**
+     * Creates a new SHA-1 digest, which every Java platform is required to support.
+     *
+     * @return the digest
+     */
+    public static MessageDigest newSha1() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Computes the SHA-1 digest of the UTF-8 encoding of the given text.
+     *
+     * @param text the text to hash
+     * @return the digest as lower case hex string
+     */
+    public static String sha1(String text) {
+        return hex(newSha1().digest(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Formats a digest as lower case hex string.
+     *
+     * @param digest the digest
+     * @return the hex string
+     */
+    public static String hex(byte[] digest) {
+        StringBuilder hex = new StringBuilder(digest.length * 2);
+        for (byte b : digest) {
+            hex.append(Character.forDigit((b >> 4) & 0x0F, 16)).append(Character.forDigit(b & 0x0F, 16));
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.resolver.internal.ant;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.aether.util.repository.DefaultMirrorSelector;
+
+/**
+ * A mirror definition of the build, combining the mirrors declared in Ant and those of the settings. The mirror
+ * selector of the build is populated from these, and the {@link ResolverDaemon} receives them to apply the same
+ * mirrors to the repositories declared by the POMs.
+ */
+final class MirrorDefinition {
+
+    private final List<String> values;
+
+    /**
+     * Creates a mirror definition with the arguments of
+     * {@link DefaultMirrorSelector#add(String, String, String, boolean, boolean, String, String)}.
+     *
+     * @param id the id of the mirror
+     * @param url the URL of the mirror
+     * @param type the content type of the mirror
+     * @param mirrorOf the ids of the mirrored repositories
+     * @param mirrorOfTypes the content types of the mirrored repositories, may be {@code null}
+     */
+    MirrorDefinition(String id, String url, String type, String mirrorOf, String mirrorOfTypes) {
+        values = new ArrayList<>();
+        Collections.addAll(values, id, url, type, mirrorOf, mirrorOfTypes);
+    }
+
+    static MirrorDefinition read(DataInputStream in) throws IOException {
+        String[] values = new String[5];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readBoolean() ? in.readUTF() : null;
+        }
+        return new MirrorDefinition(values[0], values[1], values[2], values[3], values[4]);
+    }
+
+    void write(DataOutputStream out) throws IOException {
+        for (String value : values) {
+            out.writeBoolean(value != null);
+            if (value != null) {
+                out.writeUTF(value);
+            }
+        }
+    }
+
+    void addTo(DefaultMirrorSelector selector) {
+        selector.add(values.get(0), values.get(1), values.get(2), false, false, values.get(3), values.get(4));
+    }
+
+    @Override
+    public String toString() {
+        return values.toString();
+    }
+}
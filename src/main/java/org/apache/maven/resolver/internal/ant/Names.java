@@ -51,6 +51,33 @@ public final class Names {
     /** Property name for controlling offline mode: {@code "resolver.offline"}. */
     public static final String PROPERTY_OFFLINE = ID + ".offline";
 
+    /** Property name for the maximum number of entries, not bytes, in the shared repository cache: {@code "resolver.cache.maxEntries"}. */
+    public static final String PROPERTY_CACHE_MAX_ENTRIES = ID + ".cache.maxEntries";
+
+    /** Property name for the maximum number of artifact groups resolved concurrently: {@code "resolver.resolve.threads"}. */
+    public static final String PROPERTY_RESOLVE_THREADS = ID + ".resolve.threads";
+
+    /** Property name for the number of threads copying resolved files: {@code "resolver.resolve.copyThreads"}. */
+    public static final String PROPERTY_COPY_THREADS = ID + ".resolve.copyThreads";
+
+    /** Property name for sharing one repository system among all projects of the JVM: {@code "resolver.system.shared"}. */
+    public static final String PROPERTY_SHARED_SYSTEM = ID + ".system.shared";
+
+    /** Property name for the loopback port of the resolver daemon collecting dependencies: {@code "resolver.daemon.port"}. */
+    public static final String PROPERTY_DAEMON_PORT = ID + ".daemon.port";
+
+    /** Property name for the file the resolver metrics are written to at the end of the build: {@code "resolver.metrics.file"}. */
+    public static final String PROPERTY_METRICS_FILE = ID + ".metrics.file";
+
+    /** Property name for the prefix of the properties exposing the resolver metrics: {@code "resolver.metrics.prefix"}. */
+    public static final String PROPERTY_METRICS_PREFIX = ID + ".metrics.prefix";
+
+    /** Property name for the milliseconds between two progress reports of running transfers, {@code 0} disables them: {@code "resolver.progress.interval"}. */
+    public static final String PROPERTY_PROGRESS_INTERVAL = ID + ".progress.interval";
+
+    /** Property name for the name of the workspace shared among all builds of the JVM using it: {@code "resolver.workspace"}. */
+    public static final String PROPERTY_WORKSPACE = ID + ".workspace";
+
     /** Default filename for the Maven settings file: {@code "settings.xml"}. */
     public static final String SETTINGS_XML = "settings.xml";
 }
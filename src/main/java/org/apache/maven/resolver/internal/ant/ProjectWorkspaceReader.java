@@ -20,12 +20,15 @@ package org.apache.maven.resolver.internal.ant;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.maven.model.Model;
 import org.apache.maven.resolver.internal.ant.types.Pom;
+import org.apache.tools.ant.Project;
 import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.artifact.DefaultArtifact;
 import org.eclipse.aether.repository.WorkspaceReader;
@@ -44,15 +47,30 @@ import org.eclipse.aether.util.artifact.ArtifactIdUtils;
  * can be used for resolution with Aether. &lt;artifact&gt; elements are cached if they directly define a 'pom'-attribute
  * or child. The POM may be file-based or in-memory.
  * </p>
+ * <p>
+ * Artifacts are indexed both by their full coordinates and by their versionless coordinates, so that
+ * {@link #findArtifact(Artifact)} and {@link #findVersions(Artifact)} are map lookups regardless of the size of the
+ * workspace.
+ * </p>
+ * <p>
+ * Every build has its own workspace, shared with the sub-builds it calls once it used a resolver task, and cleared once
+ * the last of them finished (see {@link #getInstance(Project)}). Builds setting {@link Names#PROPERTY_WORKSPACE} share
+ * the named workspace with all other builds of the JVM using that name instead. Registering and looking up artifacts
+ * never locks.
+ * </p>
  */
 public class ProjectWorkspaceReader implements WorkspaceReader {
 
-    private static volatile ProjectWorkspaceReader instance;
+    private static final Map<String, ProjectWorkspaceReader> NAMED = new HashMap<>();
+
+    private final String name;
 
-    private static final Object LOCK = new Object();
+    private int references;
 
     private final Map<String, Artifact> artifacts = new ConcurrentHashMap<>();
 
+    private final Map<String, Set<String>> versions = new ConcurrentHashMap<>();
+
     /**
      * Registers a {@link Pom} into the workspace. Only POMs backed by a file
      * are accepted and cached.
@@ -61,15 +79,22 @@ public class ProjectWorkspaceReader implements WorkspaceReader {
      */
     public void addPom(Pom pom) {
         if (pom.getFile() != null) {
-            Model model = pom.getModel(pom);
-            Artifact aetherArtifact =
-                    new DefaultArtifact(model.getGroupId(), model.getArtifactId(), null, "pom", model.getVersion());
-            aetherArtifact = aetherArtifact.setFile(pom.getFile());
-            String coords = coords(aetherArtifact);
-            artifacts.put(coords, aetherArtifact);
+            addModel(pom.getModel(pom), pom.getFile());
         }
     }
 
+    /**
+     * Registers the POM of an already loaded model into the workspace.
+     *
+     * @param model the effective model of the POM
+     * @param pomFile the POM file the model was loaded from
+     */
+    public void addModel(Model model, File pomFile) {
+        Artifact aetherArtifact =
+                new DefaultArtifact(model.getGroupId(), model.getArtifactId(), null, "pom", model.getVersion());
+        register(aetherArtifact.setFile(pomFile));
+    }
+
     /**
      * Registers an {@link org.apache.maven.resolver.internal.ant.types.Artifact} along with its
      * associated POM. Only artifacts that reference a POM are accepted.
@@ -97,12 +122,22 @@ public class ProjectWorkspaceReader implements WorkspaceReader {
                         pom.getVersion());
             }
             aetherArtifact = aetherArtifact.setFile(artifact.getFile());
-
-            String coords = coords(aetherArtifact);
-            artifacts.put(coords, aetherArtifact);
+            register(aetherArtifact);
         }
     }
 
+    /**
+     * Adds the artifact to both indexes. The version is added after the artifact itself, so a version found by
+     * {@link #findVersions(Artifact)} can always be found by {@link #findArtifact(Artifact)} as well.
+     *
+     * @param artifact the artifact to register
+     */
+    private void register(Artifact artifact) {
+        artifacts.put(coords(artifact), artifact);
+        versions.computeIfAbsent(ArtifactIdUtils.toVersionlessId(artifact), k -> ConcurrentHashMap.newKeySet())
+                .add(artifact.getVersion());
+    }
+
     /**
      * Computes the string coordinate used to uniquely identify an artifact in the workspace.
      *
@@ -144,41 +179,74 @@ public class ProjectWorkspaceReader implements WorkspaceReader {
      */
     @Override
     public List<String> findVersions(Artifact artifact) {
-        List<String> versions = new ArrayList<>();
-        for (Artifact art : artifacts.values()) {
-            if (ArtifactIdUtils.equalsVersionlessId(artifact, art)) {
-                versions.add(art.getVersion());
-            }
-        }
-        return versions;
+        Set<String> known = versions.get(ArtifactIdUtils.toVersionlessId(artifact));
+        return (known != null) ? new ArrayList<>(known) : new ArrayList<>();
     }
 
     /**
-     * Internal constructor. Use {@link #getInstance()} to retrieve the singleton instance.
+     * Removes all registered POMs and artifacts from this workspace.
      */
-    ProjectWorkspaceReader() {}
+    public void clear() {
+        artifacts.clear();
+        versions.clear();
+    }
 
     /**
-     * Returns the singleton instance of this workspace reader.
-     * Creates the instance lazily and ensures thread safety.
+     * Creates an unnamed workspace owned by a single build.
+     */
+    ProjectWorkspaceReader() {
+        this(null);
+    }
+
+    private ProjectWorkspaceReader(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns the name of this workspace.
      *
-     * @return the global {@link ProjectWorkspaceReader} instance
+     * @return the name or {@code null} if the workspace is unnamed
      */
-    public static ProjectWorkspaceReader getInstance() {
-        if (instance == null) {
-            synchronized (LOCK) {
-                if (instance == null) {
-                    instance = new ProjectWorkspaceReader();
-                }
-            }
-        }
-        return instance;
+    String getName() {
+        return name;
     }
 
     /**
-     * Resets the singleton instance. Primarily intended for unit tests.
+     * Returns the workspace of the build of the given project.
+     *
+     * @param project the current Ant project
+     * @return the workspace the POMs and artifacts of the build are registered in
      */
-    static void dropInstance() {
-        instance = null;
+    public static ProjectWorkspaceReader getInstance(Project project) {
+        return AntRepoSys.getInstance(project).getWorkspace();
+    }
+
+    /**
+     * Acquires the workspace with the given name, creating it if necessary. All builds of the JVM using the same name
+     * share the workspace, it is cleared once the last of them {@link #release() released} it.
+     *
+     * @param name the name of the workspace
+     * @return the workspace
+     */
+    static synchronized ProjectWorkspaceReader acquire(String name) {
+        ProjectWorkspaceReader workspace = NAMED.computeIfAbsent(name, ProjectWorkspaceReader::new);
+        workspace.references++;
+        return workspace;
+    }
+
+    /**
+     * Releases one reference to this workspace and clears it if it was the last one. An unnamed workspace is cleared
+     * right away.
+     */
+    void release() {
+        if (name != null) {
+            synchronized (ProjectWorkspaceReader.class) {
+                if (references <= 0 || --references > 0) {
+                    return;
+                }
+                NAMED.remove(name, this);
+            }
+        }
+        clear();
     }
 }
@@ -0,0 +1,470 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.resolver.internal.ant;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.AclEntry;
+import java.nio.file.attribute.AclEntryPermission;
+import java.nio.file.attribute.AclEntryType;
+import java.nio.file.attribute.AclFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.repository.internal.MavenRepositorySystemUtils;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.collection.CollectResult;
+import org.eclipse.aether.collection.DependencyCollectionException;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.repository.LocalRepository;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.repository.WorkspaceReader;
+import org.eclipse.aether.util.concurrency.ExecutorUtils;
+import org.eclipse.aether.util.repository.DefaultMirrorSelector;
+
+/**
+ * A long-lived local process collecting dependency graphs on behalf of short Ant builds.
+ * <p>
+ * The daemon keeps its repository system, one repository cache per local repository and the collected graphs warm
+ * across builds. It listens on the loopback interface only, builds find it via the {@link Names#PROPERTY_DAEMON_PORT}
+ * property and fall back to collecting in process whenever it is not reachable, does not respond in time or the
+ * request cannot be delegated. Connections not sending a complete request in time are closed by the daemon.
+ * Requests are only delegated if no proxies or credentials are involved, these never leave the build. Each connection
+ * carries one collect request: the session configuration, the mirrors, the dependencies and the repositories go in,
+ * the collected graph comes back in the format of the {@link DependencyGraphCache}. Artifact resolution still takes
+ * place in the build, using the descriptors the daemon stored in the shared local repository.
+ * </p>
+ * <p>
+ * Every request must carry the token the daemon wrote to {@code ~/.m2/resolver-daemon/<port>.token} on startup. The
+ * file is readable by its owner only, so only builds of the user running the daemon can use it.
+ * </p>
+ * <p>
+ * Start it with {@code java -cp <classpath> org.apache.maven.resolver.internal.ant.ResolverDaemon [port [idleMinutes]]},
+ * it shuts down after being idle for the given number of minutes (default: 60).
+ * </p>
+ */
+public final class ResolverDaemon implements Closeable {
+
+    private static final String MAGIC = "resolver-ant-tasks-daemon";
+
+    private static final int FORMAT = 2;
+
+    private static final int CONNECT_TIMEOUT = 1000;
+
+    /** The time the daemon waits for the next byte of a request, in milliseconds. */
+    private static final int REQUEST_TIMEOUT = 10000;
+
+    /** The time a build waits for the next byte of the response, covering the whole collection, in milliseconds. */
+    private static final int RESPONSE_TIMEOUT = (int) TimeUnit.MINUTES.toMillis(5);
+
+    private static final int DEFAULT_IDLE_MINUTES = 60;
+
+    private static final int MAX_GRAPHS = 1000;
+
+    private final ServerSocket serverSocket;
+
+    private final byte[] token;
+
+    private final File tokenFile;
+
+    private final AntRepositorySystemSupplier supplier = new AntRepositorySystemSupplier();
+
+    private final RepositorySystem system = supplier.get();
+
+    private final Map<File, AntRepositoryCache> repositoryCaches = new ConcurrentHashMap<>();
+
+    private final Map<String, DependencyNode> graphs = new LinkedHashMap<String, DependencyNode>(256, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, DependencyNode> eldest) {
+            return size() > MAX_GRAPHS;
+        }
+    };
+
+    private final ExecutorService executor;
+
+    /**
+     * Creates a daemon listening on the given port of the loopback interface and writes its token file.
+     *
+     * @param port the port, {@code 0} to pick a free one
+     * @param idleMinutes the number of minutes without requests after which {@link #run()} returns
+     * @throws IOException if the port cannot be bound or the token file cannot be written
+     */
+    public ResolverDaemon(int port, int idleMinutes) throws IOException {
+        serverSocket = new ServerSocket();
+        serverSocket.setReuseAddress(true);
+        serverSocket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        serverSocket.setSoTimeout((int) TimeUnit.MINUTES.toMillis(idleMinutes));
+        byte[] random = new byte[32];
+        new SecureRandom().nextBytes(random);
+        token = Digests.hex(random).getBytes(StandardCharsets.UTF_8);
+        tokenFile = getTokenFile(getPort());
+        try {
+            writeOwnerOnly(tokenFile.toPath(), token);
+        } catch (IOException e) {
+            serverSocket.close();
+            throw e;
+        }
+        executor = ExecutorUtils.threadPool(
+                Math.max(4, Runtime.getRuntime().availableProcessors()), getClass().getSimpleName() + "-");
+    }
+
+    /**
+     * Returns the port this daemon listens on.
+     *
+     * @return the port
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Returns the file the token of the daemon listening on the given port is written to.
+     *
+     * @param port the port of the daemon
+     * @return the token file
+     */
+    static File getTokenFile(int port) {
+        return new File(System.getProperty("user.home"), ".m2/resolver-daemon/" + port + ".token");
+    }
+
+    private static void writeOwnerOnly(Path file, byte[] content) throws IOException {
+        FileStore store = Files.getFileStore(Files.createDirectories(file.getParent()));
+        Files.deleteIfExists(file);
+        if (store.supportsFileAttributeView(PosixFileAttributeView.class)) {
+            Files.createFile(file, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } else if (store.supportsFileAttributeView(AclFileAttributeView.class)) {
+            Files.createFile(file);
+            AclFileAttributeView view = Files.getFileAttributeView(file, AclFileAttributeView.class);
+            view.setAcl(Collections.singletonList(AclEntry.newBuilder()
+                    .setType(AclEntryType.ALLOW)
+                    .setPrincipal(view.getOwner())
+                    .setPermissions(EnumSet.allOf(AclEntryPermission.class))
+                    .build()));
+        } else {
+            throw new IOException("Cannot restrict access to " + file + " to its owner");
+        }
+        Files.write(file, content, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * Serves requests until this daemon is closed or has been idle for the configured time.
+     */
+    public void run() {
+        try {
+            while (!serverSocket.isClosed()) {
+                Socket socket = serverSocket.accept();
+                executor.execute(() -> serve(socket));
+            }
+        } catch (SocketTimeoutException e) {
+            // idle
+        } catch (IOException e) {
+            if (!serverSocket.isClosed()) {
+                throw new IllegalStateException("Could not accept connections: " + e.getMessage(), e);
+            }
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Stops accepting requests, deletes the token file and shuts down the repository system.
+     */
+    @Override
+    public void close() {
+        synchronized (serverSocket) {
+            if (serverSocket.isClosed()) {
+                return;
+            }
+            try {
+                serverSocket.close();
+            } catch (IOException e) {
+                // ignored
+            }
+        }
+        try {
+            Files.deleteIfExists(tokenFile.toPath());
+        } catch (IOException e) {
+            // ignored
+        }
+        ExecutorUtils.shutdown(executor);
+        system.shutdown();
+    }
+
+    /**
+     * Starts a daemon and serves requests until it is idle.
+     *
+     * @param args the optional port and idle time in minutes
+     * @throws IOException if the port cannot be bound
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 0;
+        int idleMinutes = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_IDLE_MINUTES;
+        try (ResolverDaemon daemon = new ResolverDaemon(port, idleMinutes)) {
+            System.out.println("Resolver daemon listening on port " + daemon.getPort());
+            daemon.run();
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (Socket s = socket;
+                DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream()));
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()))) {
+            s.setSoTimeout(REQUEST_TIMEOUT);
+            if (!MAGIC.equals(in.readUTF()) || in.readInt() != FORMAT) {
+                return;
+            }
+            if (!MessageDigest.isEqual(token, in.readUTF().getBytes(StandardCharsets.UTF_8))) {
+                out.writeByte('e');
+                out.writeUTF("Invalid token");
+                return;
+            }
+            DependencyNode root;
+            try {
+                root = collect(in);
+            } catch (DependencyCollectionException | RuntimeException e) {
+                out.writeByte('e');
+                out.writeUTF(String.valueOf(e.getMessage()));
+                return;
+            }
+            out.writeByte('g');
+            new DependencyGraphCache.Writer(out).writeNode(root);
+        } catch (IOException e) {
+            // the build falls back to collecting in process
+        }
+    }
+
+    private DependencyNode collect(DataInputStream in) throws IOException, DependencyCollectionException {
+        File localRepoDir = new File(in.readUTF());
+        boolean offline = in.readBoolean();
+        Map<String, String> systemProperties = readProperties(in);
+        Map<String, String> userProperties = readProperties(in);
+        Map<String, String> configProperties = readProperties(in);
+
+        DefaultMirrorSelector mirrorSelector = new DefaultMirrorSelector();
+        StringBuilder mirrors = new StringBuilder();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            MirrorDefinition mirror = MirrorDefinition.read(in);
+            mirror.addTo(mirrorSelector);
+            mirrors.append("mirror=").append(mirror).append('\n');
+        }
+
+        DefaultRepositorySystemSession session = MavenRepositorySystemUtils.newSession();
+        session.setSystemProperties(systemProperties);
+        session.setUserProperties(userProperties);
+        session.setConfigProperties(configProperties);
+        session.setOffline(offline);
+        session.setMirrorSelector(mirrorSelector);
+        session.setCache(repositoryCaches.computeIfAbsent(
+                localRepoDir, dir -> new AntRepositoryCache(AntRepositoryCache.DEFAULT_MAX_ENTRIES)));
+        session.setLocalRepositoryManager(system.newLocalRepositoryManager(session, new LocalRepository(localRepoDir)));
+
+        DependencyGraphCache.Reader reader =
+                new DependencyGraphCache.Reader(in, system, session, Collections.emptyList());
+        CollectRequest request = new CollectRequest();
+        request.setRequestContext(reader.readString());
+        if (in.readBoolean()) {
+            request.setRoot(reader.readDependency());
+        }
+        count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            request.addDependency(reader.readDependency());
+        }
+        count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            request.addManagedDependency(reader.readDependency());
+        }
+        count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            request.addRepository(reader.readRawRepository());
+        }
+
+        String key = DependencyGraphCache.getKey(session, request) + '\n' + mirrors;
+        synchronized (graphs) {
+            DependencyNode root = graphs.get(key);
+            if (root != null) {
+                return root;
+            }
+        }
+        DependencyNode root = system.collectDependencies(session, request).getRoot();
+        if (DependencyGraphCache.isCacheable(session, root)) {
+            synchronized (graphs) {
+                graphs.put(key, root);
+            }
+        }
+        return root;
+    }
+
+    private static Map<String, String> readProperties(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        Map<String, String> properties = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            properties.put(in.readUTF(), in.readUTF());
+        }
+        return properties;
+    }
+
+    private static void writeProperties(DataOutputStream out, Map<?, ?> properties) throws IOException {
+        Map<String, String> strings = new LinkedHashMap<>();
+        for (Map.Entry<?, ?> entry : properties.entrySet()) {
+            if (entry.getKey() instanceof String && entry.getValue() instanceof String) {
+                strings.put((String) entry.getKey(), (String) entry.getValue());
+            }
+        }
+        out.writeInt(strings.size());
+        for (Map.Entry<String, String> entry : strings.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeUTF(entry.getValue());
+        }
+    }
+
+    /**
+     * Collects the dependencies of the given request with the daemon listening on the given port.
+     *
+     * @param port the port of the daemon
+     * @param system the repository system of the build, used to apply mirrors, proxies and authentication to
+     *            repositories that are not part of the request
+     * @param session the session of the build
+     * @param request the collect request, its repositories must not require proxies or authentication
+     * @param mirrors the mirrors of the build
+     * @return the collect result or {@code null} if the daemon could not collect the dependencies or the graph
+     *         contains artifacts of the current build
+     * @throws IOException if the daemon is not reachable, does not respond in time or its token file cannot be read
+     */
+    static CollectResult collect(
+            int port,
+            RepositorySystem system,
+            RepositorySystemSession session,
+            CollectRequest request,
+            List<MirrorDefinition> mirrors)
+            throws IOException {
+        File tokenFile = getTokenFile(port);
+        String token;
+        try {
+            token = new String(Files.readAllBytes(tokenFile.toPath()), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IOException("Cannot read resolver daemon token " + tokenFile + ": " + e.getMessage(), e);
+        }
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), CONNECT_TIMEOUT);
+            socket.setSoTimeout(RESPONSE_TIMEOUT);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+
+            out.writeUTF(MAGIC);
+            out.writeInt(FORMAT);
+            out.writeUTF(token);
+            out.writeUTF(session.getLocalRepository().getBasedir().getAbsolutePath());
+            out.writeBoolean(session.isOffline());
+            writeProperties(out, session.getSystemProperties());
+            writeProperties(out, session.getUserProperties());
+            writeProperties(out, session.getConfigProperties());
+            out.writeInt(mirrors.size());
+            for (MirrorDefinition mirror : mirrors) {
+                mirror.write(out);
+            }
+
+            DependencyGraphCache.Writer writer = new DependencyGraphCache.Writer(out);
+            writer.writeString(request.getRequestContext());
+            out.writeBoolean(request.getRoot() != null);
+            if (request.getRoot() != null) {
+                writer.writeDependency(request.getRoot());
+            }
+            out.writeInt(request.getDependencies().size());
+            for (Dependency dependency : request.getDependencies()) {
+                writer.writeDependency(dependency);
+            }
+            out.writeInt(request.getManagedDependencies().size());
+            for (Dependency dependency : request.getManagedDependencies()) {
+                writer.writeDependency(dependency);
+            }
+            out.writeInt(request.getRepositories().size());
+            for (RemoteRepository repository : request.getRepositories()) {
+                writer.writeRepository(repository);
+            }
+            out.flush();
+
+            int status = in.readByte();
+            if (status != 'g') {
+                throw new IOException(status == 'e' ? in.readUTF() : "Invalid response " + status);
+            }
+            DependencyNode root =
+                    new DependencyGraphCache.Reader(in, system, session, request.getRepositories()).readNode();
+            if (containsWorkspaceArtifacts(
+                    session.getWorkspaceReader(), root, Collections.newSetFromMap(new IdentityHashMap<>()))) {
+                return null;
+            }
+            CollectResult result = new CollectResult(request);
+            result.setRoot(root);
+            return result;
+        } catch (SocketException | SocketTimeoutException e) {
+            throw new IOException("Resolver daemon not reachable on port " + port + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static boolean containsWorkspaceArtifacts(
+            WorkspaceReader workspace, DependencyNode node, Set<DependencyNode> visited) {
+        if (workspace == null || !visited.add(node)) {
+            return false;
+        }
+        if (node.getArtifact() != null && !workspace.findVersions(node.getArtifact()).isEmpty()) {
+            return true;
+        }
+        for (DependencyNode child : node.getChildren()) {
+            if (containsWorkspaceArtifacts(workspace, child, visited)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
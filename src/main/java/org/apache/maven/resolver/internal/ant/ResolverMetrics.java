@@ -0,0 +1,294 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.resolver.internal.ant;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.SyncContext;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.metadata.Metadata;
+import org.eclipse.aether.spi.synccontext.SyncContextFactory;
+import org.eclipse.aether.transfer.TransferEvent;
+
+/**
+ * Metrics of the resolver tasks of one build: the time spent collecting, resolving and copying, the transfers per
+ * repository, the hits and misses of the caches, the descriptor reads and the time spent waiting for locks.
+ * <p>
+ * All counters are cumulative and safe for concurrent updates. {@link #toMap()} flattens them into names like
+ * {@code collect.millis} or {@code transfer.central.get.bytes}, which are used for the report written at the end of
+ * the build (see {@link Names#PROPERTY_METRICS_FILE}) and the properties optionally updated after each task (see
+ * {@link Names#PROPERTY_METRICS_PREFIX}).
+ * </p>
+ */
+public final class ResolverMetrics {
+
+    /** Timer for dependency collection. */
+    public static final String COLLECT = "collect";
+
+    /** Timer for artifact resolution. */
+    public static final String RESOLVE = "resolve";
+
+    /** Timer for copying or linking resolved files. */
+    public static final String COPY = "copy";
+
+    /** Timer for waiting on the locks of the local repository. */
+    public static final String LOCK_WAIT = "lockWait";
+
+    private static final Map<File, ResolverMetrics> REPORTS = new HashMap<>();
+
+    private final File report;
+
+    private int references;
+
+    private final Map<String, Counter> timers = new ConcurrentHashMap<>();
+
+    private final TransferStatistics transfers = new TransferStatistics();
+
+    private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+
+    private final LongAdder updates = new LongAdder();
+
+    /**
+     * Creates metrics that are not written to a report.
+     */
+    public ResolverMetrics() {
+        this(null);
+    }
+
+    private ResolverMetrics(File report) {
+        this.report = report;
+    }
+
+    /**
+     * Acquires the metrics written to the given report, creating them if necessary. All projects of the JVM using the
+     * same report, e.g. sub-projects created by {@code <ant>} and {@code <antcall>}, share the metrics, the report is
+     * written once the last of them {@link #release() released} the metrics.
+     *
+     * @param report the report file
+     * @return the metrics
+     */
+    static synchronized ResolverMetrics acquire(File report) {
+        File key = report.getAbsoluteFile();
+        ResolverMetrics metrics = REPORTS.computeIfAbsent(key, ResolverMetrics::new);
+        metrics.references++;
+        return metrics;
+    }
+
+    /**
+     * Releases one reference to these metrics and writes the report if it was the last one. Does nothing for metrics
+     * without report.
+     *
+     * @throws IOException if the report cannot be written
+     */
+    void release() throws IOException {
+        synchronized (ResolverMetrics.class) {
+            if (report == null || references <= 0 || --references > 0) {
+                return;
+            }
+            REPORTS.remove(report, this);
+        }
+        write(report);
+    }
+
+    /**
+     * Returns the file these metrics are written to.
+     *
+     * @return the report file or {@code null} if the metrics are not written
+     */
+    File getReport() {
+        return report;
+    }
+
+    /**
+     * Returns the metrics the given session reports to.
+     *
+     * @param session the session
+     * @return the metrics or {@code null} if the session was not created by {@link AntRepoSys}
+     */
+    static ResolverMetrics of(RepositorySystemSession session) {
+        Object metrics = session.getData().get(ResolverMetrics.class);
+        return metrics instanceof ResolverMetrics ? (ResolverMetrics) metrics : null;
+    }
+
+    /**
+     * Adds the duration of an operation to a timer.
+     *
+     * @param timer the timer, e.g. {@link #COLLECT}
+     * @param nanos the duration in nanoseconds
+     */
+    public void addTime(String timer, long nanos) {
+        timers.computeIfAbsent(timer, k -> new Counter()).add(nanos);
+        updates.increment();
+    }
+
+    /**
+     * Records a completed transfer.
+     *
+     * @param repositoryId the id of the repository
+     * @param requestType the type of the transfer
+     * @param bytes the number of bytes transferred
+     * @param startMillis the start of the transfer
+     * @param endMillis the end of the transfer
+     */
+    void addTransfer(
+            String repositoryId, TransferEvent.RequestType requestType, long bytes, long startMillis, long endMillis) {
+        transfers.add(repositoryId, requestType, bytes, startMillis, endMillis);
+        updates.increment();
+    }
+
+    /**
+     * Increments a counter, e.g. {@code repositoryCache.hits} or {@code descriptorReads}.
+     *
+     * @param name the name of the counter
+     */
+    void increment(String name) {
+        counts.computeIfAbsent(name, k -> new LongAdder()).increment();
+        updates.increment();
+    }
+
+    /**
+     * Returns the number of updates so far, allowing to detect changes cheaply.
+     *
+     * @return the number of updates
+     */
+    long getUpdates() {
+        return updates.sum();
+    }
+
+    /**
+     * Returns the current values of all metrics, sorted by name.
+     *
+     * @return the metrics
+     */
+    public Map<String, Long> toMap() {
+        Map<String, Long> map = new TreeMap<>();
+        for (Map.Entry<String, Counter> timer : timers.entrySet()) {
+            map.put(timer.getKey() + ".count", timer.getValue().count.sum());
+            map.put(timer.getKey() + ".millis", TimeUnit.NANOSECONDS.toMillis(timer.getValue().nanos.sum()));
+        }
+        transfers.addTo(map);
+        for (Map.Entry<String, LongAdder> count : counts.entrySet()) {
+            map.put(count.getKey(), count.getValue().sum());
+        }
+        return map;
+    }
+
+    /**
+     * Writes the current values of all metrics, as JSON object if the file name ends with {@code .json} and as CSV
+     * with the columns {@code name} and {@code value} otherwise.
+     *
+     * @param file the file to write
+     * @throws IOException if the file cannot be written
+     */
+    void write(File file) throws IOException {
+        File dir = file.getAbsoluteFile().getParentFile();
+        Files.createDirectories(dir.toPath());
+        boolean json = file.getName().endsWith(".json");
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            writer.write(json ? "{" : "name,value");
+            String separator = json ? "\n" : "";
+            for (Map.Entry<String, Long> metric : toMap().entrySet()) {
+                if (json) {
+                    writer.write(separator + "  \"" + escape(metric.getKey()) + "\": " + metric.getValue());
+                    separator = ",\n";
+                } else {
+                    writer.write("\n\"" + metric.getKey().replace("\"", "\"\"") + "\"," + metric.getValue());
+                }
+            }
+            writer.write(json ? "\n}\n" : "\n");
+        }
+    }
+
+    private static String escape(String value) {
+        StringBuilder buffer = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                buffer.append('\\').append(c);
+            } else if (c < 0x20) {
+                buffer.append(String.format("\\u%04x", (int) c));
+            } else {
+                buffer.append(c);
+            }
+        }
+        return buffer.toString();
+    }
+
+    private static final class Counter {
+
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder nanos = new LongAdder();
+
+        void add(long nanos) {
+            this.count.increment();
+            this.nanos.add(nanos);
+        }
+    }
+
+    /**
+     * Measures the time spent acquiring the locks of the local repository, reporting it to the metrics of the
+     * session.
+     */
+    static final class TimingSyncContextFactory implements SyncContextFactory {
+
+        private final SyncContextFactory delegate;
+
+        TimingSyncContextFactory(SyncContextFactory delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public SyncContext newInstance(RepositorySystemSession session, boolean shared) {
+            SyncContext context = delegate.newInstance(session, shared);
+            ResolverMetrics metrics = of(session);
+            if (metrics == null) {
+                return context;
+            }
+            return new SyncContext() {
+                @Override
+                public void acquire(
+                        Collection<? extends Artifact> artifacts, Collection<? extends Metadata> metadatas) {
+                    long start = System.nanoTime();
+                    try {
+                        context.acquire(artifacts, metadatas);
+                    } finally {
+                        metrics.addTime(LOCK_WAIT, System.nanoTime() - start);
+                    }
+                }
+
+                @Override
+                public void close() {
+                    context.close();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.resolver.internal.ant;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.maven.settings.Settings;
+
+/**
+ * A JVM wide cache of effective and decrypted settings, shared by all Ant projects including the sub-projects
+ * created by {@code <ant>} and {@code <antcall>}.
+ * <p>
+ * Cached settings are reused as long as the user settings, the global settings and the settings security file keep
+ * their last modification time and size, and the properties referenced by {@code ${...}} expressions in the settings
+ * files keep their values. Callers always receive a copy they are free to modify.
+ * </p>
+ */
+final class SettingsCache {
+
+    private static final Pattern EXPRESSION = Pattern.compile("\\$\\{([^}]+)\\}");
+
+    private static final Map<List<File>, Entry> ENTRIES = new ConcurrentHashMap<>();
+
+    private SettingsCache() {
+        // hide constructor
+    }
+
+    /**
+     * Returns the settings for the given settings files, loading them on a cache miss.
+     *
+     * @param userSettings the user settings file, may be {@code null}
+     * @param globalSettings the global settings file, may be {@code null}
+     * @param securitySettings the settings security file holding the master password
+     * @param systemProperties the system properties used to interpolate the settings
+     * @param userProperties the user properties used to interpolate the settings
+     * @param loader builds and decrypts the settings, returns {@code null} if the settings could not be built
+     * @return a copy of the settings or {@code null} if the loader failed, failures are not cached
+     */
+    static Settings get(
+            File userSettings,
+            File globalSettings,
+            File securitySettings,
+            Properties systemProperties,
+            Properties userProperties,
+            Supplier<Settings> loader) {
+        List<File> files =
+                Arrays.asList(absolute(userSettings), absolute(globalSettings), absolute(securitySettings));
+        List<Object> stamps = Arrays.asList(stamp(files.get(0)), stamp(files.get(1)), stamp(files.get(2)));
+
+        Entry entry = ENTRIES.get(files);
+        if (entry != null
+                && entry.stamps.equals(stamps)
+                && entry.values.equals(getValues(entry.values.keySet(), systemProperties, userProperties))) {
+            return entry.settings.clone();
+        }
+
+        Settings settings = loader.get();
+        if (settings == null) {
+            return null;
+        }
+        Map<String, List<String>> values = getValues(
+                getExpressions(files.get(0), files.get(1)), systemProperties, userProperties);
+        ENTRIES.put(files, new Entry(stamps, values, settings.clone()));
+        return settings;
+    }
+
+    /**
+     * Discards all cached settings.
+     */
+    static void clear() {
+        ENTRIES.clear();
+    }
+
+    private static File absolute(File file) {
+        return file != null ? file.getAbsoluteFile() : null;
+    }
+
+    private static List<Object> stamp(File file) {
+        return file != null ? Arrays.asList(file.lastModified(), file.length()) : null;
+    }
+
+    private static Set<String> getExpressions(File... files) {
+        Set<String> expressions = new TreeSet<>();
+        for (File file : files) {
+            if (file == null || !file.isFile()) {
+                continue;
+            }
+            try {
+                String content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+                Matcher matcher = EXPRESSION.matcher(content);
+                while (matcher.find()) {
+                    expressions.add(matcher.group(1).trim());
+                }
+            } catch (IOException e) {
+                // the settings builder already read the file, if it is gone now the stamp will differ next time
+            }
+        }
+        return expressions;
+    }
+
+    private static Map<String, List<String>> getValues(
+            Iterable<String> expressions, Properties systemProperties, Properties userProperties) {
+        Map<String, List<String>> values = new TreeMap<>();
+        for (String expression : expressions) {
+            values.put(
+                    expression,
+                    Arrays.asList(userProperties.getProperty(expression), systemProperties.getProperty(expression)));
+        }
+        return values;
+    }
+
+    private static final class Entry {
+
+        private final List<Object> stamps;
+
+        private final Map<String, List<String>> values;
+
+        private final Settings settings;
+
+        Entry(List<Object> stamps, Map<String, List<String>> values, Settings settings) {
+            this.stamps = stamps;
+            this.values = values;
+            this.settings = settings;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.resolver.internal.ant;
+
+import org.eclipse.aether.RepositorySystem;
+
+/**
+ * A reference counted repository system shared by all Ant projects of the JVM that opted in via
+ * {@link Names#PROPERTY_SHARED_SYSTEM}, sparing sub-projects created by {@code <ant>} and {@code <antcall>} the
+ * construction of the whole resolver component graph.
+ * <p>
+ * Every project acquires the shared system once and releases it when its build finishes. The system is shut down
+ * when the last project releases it, a later acquisition creates a new one.
+ * </p>
+ */
+final class SharedRepositorySystem {
+
+    private static SharedRepositorySystem instance;
+
+    private final AntRepositorySystemSupplier supplier;
+
+    private final RepositorySystem system;
+
+    private int references;
+
+    private SharedRepositorySystem() {
+        supplier = new AntRepositorySystemSupplier();
+        system = supplier.get();
+    }
+
+    /**
+     * Acquires the shared repository system, creating it if necessary.
+     *
+     * @return the shared repository system, to be {@link #release() released} once no longer used
+     */
+    static synchronized SharedRepositorySystem acquire() {
+        if (instance == null) {
+            instance = new SharedRepositorySystem();
+        }
+        instance.references++;
+        return instance;
+    }
+
+    /**
+     * Releases one reference to this repository system and shuts it down if it was the last one.
+     */
+    void release() {
+        synchronized (SharedRepositorySystem.class) {
+            if (references <= 0) {
+                return;
+            }
+            if (--references == 0) {
+                if (instance == this) {
+                    instance = null;
+                }
+                system.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Returns the supplier that created the repository system, exposing further components of it.
+     *
+     * @return the supplier
+     */
+    AntRepositorySystemSupplier getSupplier() {
+        return supplier;
+    }
+
+    /**
+     * Returns the shared repository system.
+     *
+     * @return the repository system
+     */
+    RepositorySystem getSystem() {
+        return system;
+    }
+}
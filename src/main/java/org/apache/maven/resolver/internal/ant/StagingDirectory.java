@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.resolver.internal.ant;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.tools.ant.BuildException;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+
+/**
+ * A directory holding staged artifacts in repository layout, waiting to be deployed.
+ * <p>
+ * The manifest lists the staged artifacts, one per line with the coordinates followed by the path relative to the
+ * staging directory. The journal lists the batches, i.e. {@code groupId:artifactId}, that have already been pushed,
+ * allowing an interrupted push to resume with the remaining batches.
+ * </p>
+ * <p>
+ * There is one instance per canonical directory in the JVM, obtained via {@link #of(File)}, so concurrent stages and
+ * pushes of the same directory, also from different projects or sub-builds, update the manifest and the journal one
+ * at a time.
+ * </p>
+ */
+final class StagingDirectory {
+
+    private static final String MANIFEST = "staging.manifest";
+
+    private static final String JOURNAL = "staging.pushed";
+
+    private static final Map<File, StagingDirectory> INSTANCES = new ConcurrentHashMap<>();
+
+    private final File dir;
+
+    private StagingDirectory(File dir) {
+        this.dir = dir;
+    }
+
+    /**
+     * Returns the instance for the given directory.
+     *
+     * @param dir the staging directory
+     * @return the instance shared by all users of the directory
+     */
+    static StagingDirectory of(File dir) {
+        File canonicalDir;
+        try {
+            canonicalDir = dir.getCanonicalFile();
+        } catch (IOException e) {
+            canonicalDir = dir.getAbsoluteFile();
+        }
+        return INSTANCES.computeIfAbsent(canonicalDir, StagingDirectory::new);
+    }
+
+    /**
+     * Adds the given artifacts to the manifest. Batches of the given artifacts that were already pushed are removed
+     * from the journal, so the next push deploys them again.
+     *
+     * @param paths the staged artifacts mapped to their paths relative to the staging directory
+     * @throws BuildException if the manifest or the journal cannot be updated
+     */
+    synchronized void addArtifacts(Map<Artifact, String> paths) {
+        Map<String, String> manifest = readManifest();
+        Set<String> restaged = new LinkedHashSet<>();
+        for (Map.Entry<Artifact, String> entry : paths.entrySet()) {
+            Artifact artifact = entry.getKey();
+            manifest.put(artifact.toString(), entry.getValue().replace(File.separatorChar, '/'));
+            restaged.add(artifact.getGroupId() + ':' + artifact.getArtifactId());
+        }
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<String, String> entry : manifest.entrySet()) {
+            lines.add(entry.getKey() + ' ' + entry.getValue());
+        }
+        write(new File(dir, MANIFEST), lines, false);
+
+        Set<String> pushed = getPushedBatches();
+        if (pushed.removeAll(restaged)) {
+            write(new File(dir, JOURNAL), new ArrayList<>(pushed), false);
+        }
+    }
+
+    /**
+     * Returns the staged artifacts grouped into batches by {@code groupId:artifactId}.
+     *
+     * @return the batches in staging order, empty if nothing has been staged
+     * @throws BuildException if the manifest cannot be read
+     */
+    synchronized Map<String, List<Artifact>> getBatches() {
+        Map<String, List<Artifact>> batches = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : readManifest().entrySet()) {
+            Artifact artifact = new DefaultArtifact(entry.getKey()).setFile(new File(dir, entry.getValue()));
+            if (!artifact.getFile().isFile()) {
+                throw new BuildException("Staged file " + artifact.getFile() + " of " + artifact + " does not exist");
+            }
+            String batch = artifact.getGroupId() + ':' + artifact.getArtifactId();
+            batches.computeIfAbsent(batch, k -> new ArrayList<>()).add(artifact);
+        }
+        return batches;
+    }
+
+    /**
+     * Returns the batches already pushed by a previous, interrupted push.
+     *
+     * @return the pushed batches
+     * @throws BuildException if the journal cannot be read
+     */
+    synchronized Set<String> getPushedBatches() {
+        return new LinkedHashSet<>(read(new File(dir, JOURNAL)));
+    }
+
+    /**
+     * Records a batch as pushed.
+     *
+     * @param batch the pushed batch
+     * @throws BuildException if the journal cannot be written
+     */
+    synchronized void markPushed(String batch) {
+        List<String> lines = new ArrayList<>();
+        lines.add(batch);
+        write(new File(dir, JOURNAL), lines, true);
+    }
+
+    /**
+     * Discards the manifest and the journal once everything has been pushed.
+     *
+     * @throws BuildException if the files cannot be deleted
+     */
+    synchronized void complete() {
+        try {
+            Files.deleteIfExists(new File(dir, JOURNAL).toPath());
+            Files.deleteIfExists(new File(dir, MANIFEST).toPath());
+        } catch (IOException e) {
+            throw new BuildException("Cannot clean up staging directory " + dir, e);
+        }
+    }
+
+    private Map<String, String> readManifest() {
+        Map<String, String> manifest = new LinkedHashMap<>();
+        for (String line : read(new File(dir, MANIFEST))) {
+            int space = line.indexOf(' ');
+            if (space <= 0) {
+                throw new BuildException("Invalid line in staging manifest of " + dir + ": " + line);
+            }
+            manifest.put(line.substring(0, space), line.substring(space + 1).trim());
+        }
+        return manifest;
+    }
+
+    private static List<String> read(File file) {
+        List<String> lines = new ArrayList<>();
+        if (!file.isFile()) {
+            return lines;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                line = line.trim();
+                if (!line.isEmpty()) {
+                    lines.add(line);
+                }
+            }
+        } catch (IOException e) {
+            throw new BuildException("Cannot read " + file, e);
+        }
+        return lines;
+    }
+
+    private static void write(File file, List<String> lines, boolean append) {
+        try {
+            Files.createDirectories(file.getAbsoluteFile().getParentFile().toPath());
+            try (Writer writer = Files.newBufferedWriter(
+                    file.toPath(),
+                    StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE,
+                    append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING)) {
+                for (String line : lines) {
+                    writer.write(line);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            throw new BuildException("Cannot write " + file, e);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.resolver.internal.ant;
+
+import java.util.Map;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.tools.ant.Task;
+import org.eclipse.aether.transfer.TransferResource;
+
+/**
+ * Tracks the transfers in flight of one task across all its sessions and periodically logs their progress: the number
+ * of active transfers, the aggregate throughput, the remaining bytes with the estimated time to complete and the
+ * slowest active transfer.
+ * <p>
+ * The transfer threads only update counters owned by their transfer or striped across threads and never wait for a
+ * report. The reports are logged by a timer once per interval, so stalled transfers are reported even though no
+ * progress arrives.
+ * </p>
+ */
+final class TransferProgress {
+
+    /**
+     * The default interval between two progress reports in milliseconds.
+     */
+    static final long DEFAULT_INTERVAL = 5000;
+
+    private final Task task;
+
+    private final long interval;
+
+    private final Map<TransferResource, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder transferred = new LongAdder();
+
+    private long lastReportTime;
+
+    private long lastReportBytes;
+
+    private TimerTask reporter;
+
+    /**
+     * Creates a progress tracker reporting to the given task.
+     *
+     * @param task the task to log to
+     * @param interval the minimum interval between two reports in milliseconds, reports are disabled if not positive
+     */
+    TransferProgress(Task task, long interval) {
+        this.task = task;
+        this.interval = interval;
+        this.lastReportTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Records the start of a transfer.
+     *
+     * @param resource the transferred resource
+     */
+    void started(TransferResource resource) {
+        if (interval > 0) {
+            inFlight.put(resource, new InFlight(System.currentTimeMillis()));
+        }
+    }
+
+    /**
+     * Records transferred bytes.
+     *
+     * @param resource the transferred resource
+     * @param bytes the number of bytes transferred since the last update
+     */
+    void progressed(TransferResource resource, int bytes) {
+        if (interval <= 0) {
+            return;
+        }
+        InFlight transfer = inFlight.get(resource);
+        if (transfer != null) {
+            transfer.transferred.addAndGet(bytes);
+        }
+        transferred.add(bytes);
+    }
+
+    /**
+     * Records the end of a transfer, whether successful or not.
+     *
+     * @param resource the transferred resource
+     */
+    void finished(TransferResource resource) {
+        if (interval > 0) {
+            inFlight.remove(resource);
+        }
+    }
+
+    /**
+     * Reports the progress from the given timer once per interval. Does nothing if the reports are already scheduled
+     * or disabled.
+     *
+     * @param timer the timer to schedule the reports with
+     */
+    synchronized void schedule(Timer timer) {
+        if (interval > 0 && reporter == null) {
+            reporter = new TimerTask() {
+                @Override
+                public void run() {
+                    reportInFlight(System.currentTimeMillis());
+                }
+            };
+            timer.schedule(reporter, interval, interval);
+        }
+    }
+
+    /**
+     * Stops the reports scheduled with {@link #schedule(Timer)}.
+     */
+    synchronized void cancel() {
+        if (reporter != null) {
+            reporter.cancel();
+            reporter = null;
+        }
+    }
+
+    /**
+     * Logs a report unless nothing is in flight, in which case the report only advances the baseline of the
+     * throughput.
+     */
+    private void reportInFlight(long now) {
+        String report = report(now);
+        if (!inFlight.isEmpty()) {
+            task.log(report);
+        }
+    }
+
+    /**
+     * Describes the current progress and makes it the baseline of the throughput of the next report. Synchronized, as
+     * a cancelled timer task may still run while the task scheduled next already reports.
+     */
+    synchronized String report(long now) {
+        long total = transferred.sum();
+        long elapsed = now - lastReportTime;
+        long rate = elapsed > 0 ? (total - lastReportBytes) * 1000 / elapsed : 0;
+        lastReportTime = now;
+        lastReportBytes = total;
+
+        int active = 0;
+        long remaining = 0;
+        boolean known = true;
+        TransferResource slowest = null;
+        long slowestRate = Long.MAX_VALUE;
+        for (Map.Entry<TransferResource, InFlight> entry : inFlight.entrySet()) {
+            active++;
+            long done = entry.getValue().transferred.get();
+            long length = entry.getKey().getContentLength();
+            if (length >= 0) {
+                remaining += Math.max(0, length - done);
+            } else {
+                known = false;
+            }
+            long transferRate = done * 1000 / Math.max(1, now - entry.getValue().start);
+            if (transferRate < slowestRate) {
+                slowest = entry.getKey();
+                slowestRate = transferRate;
+            }
+        }
+
+        StringBuilder buffer = new StringBuilder(256);
+        buffer.append("Transferring ")
+                .append(active)
+                .append(active == 1 ? " file at " : " files at ")
+                .append(TransferStatistics.formatBytes(rate))
+                .append("/s");
+        if (known && active > 0) {
+            buffer.append(", ").append(TransferStatistics.formatBytes(remaining)).append(" remaining");
+            if (rate > 0) {
+                buffer.append(", ETA ").append((remaining + rate - 1) / rate).append(" s");
+            }
+        }
+        if (slowest != null && active > 1) {
+            buffer.append(", slowest ")
+                    .append(slowest.getRepositoryUrl())
+                    .append(slowest.getResourceName())
+                    .append(" at ")
+                    .append(TransferStatistics.formatBytes(slowestRate))
+                    .append("/s");
+        }
+        return buffer.toString();
+    }
+
+    private static final class InFlight {
+
+        private final long start;
+
+        private final AtomicLong transferred = new AtomicLong();
+
+        InFlight(long start) {
+            this.start = start;
+        }
+    }
+}
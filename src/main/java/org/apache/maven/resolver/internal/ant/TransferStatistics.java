@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.resolver.internal.ant;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.aether.transfer.TransferEvent;
+
+/**
+ * Aggregates completed transfers per repository and request type: the number of files and bytes, the minimum,
+ * average and 95th percentile latency and the throughput.
+ * <p>
+ * The statistics are updated by the transfer threads without locking. Latencies are kept in a histogram with four
+ * buckets per power of two, so the reported percentile is accurate within 25%.
+ * </p>
+ */
+final class TransferStatistics {
+
+    private static final int BUCKETS = 4 * 62 + 4;
+
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * Records a completed transfer.
+     *
+     * @param repositoryId the id of the repository
+     * @param requestType the type of the transfer
+     * @param bytes the number of bytes transferred
+     * @param startMillis the start of the transfer
+     * @param endMillis the end of the transfer
+     */
+    void add(String repositoryId, TransferEvent.RequestType requestType, long bytes, long startMillis, long endMillis) {
+        String key = repositoryId + '.' + requestType.name().toLowerCase(Locale.ENGLISH);
+        stats.computeIfAbsent(key, k -> new Stats(repositoryId, requestType))
+                .add(Math.max(0, bytes), startMillis, Math.max(startMillis, endMillis));
+    }
+
+    /**
+     * Tells whether no transfers have been recorded.
+     *
+     * @return {@code true} if no transfers have been recorded
+     */
+    boolean isEmpty() {
+        return stats.isEmpty();
+    }
+
+    /**
+     * Adds the statistics to the given map, using names like {@code transfer.central.get.bytes}.
+     *
+     * @param map the map to add to
+     */
+    void addTo(Map<String, Long> map) {
+        for (Map.Entry<String, Stats> entry : stats.entrySet()) {
+            String prefix = "transfer." + entry.getKey();
+            Stats s = entry.getValue();
+            long count = s.count.sum();
+            map.put(prefix + ".files", count);
+            map.put(prefix + ".bytes", s.bytes.sum());
+            map.put(prefix + ".millis", s.millis.sum());
+            map.put(prefix + ".minMillis", count > 0 ? s.min.get() : 0);
+            map.put(prefix + ".avgMillis", count > 0 ? s.millis.sum() / count : 0);
+            map.put(prefix + ".p95Millis", s.percentile(95));
+        }
+    }
+
+    /**
+     * Describes the statistics, one line per repository and request type, e.g.
+     * {@code Downloaded 12 files (3.4 MB) from central at 1.2 MB/s, latency min 15 ms, avg 40 ms, p95 120 ms}.
+     *
+     * @return the summary lines
+     */
+    List<String> summarize() {
+        List<String> lines = new ArrayList<>();
+        for (Stats s : new TreeMap<>(stats).values()) {
+            long count = s.count.sum();
+            if (count <= 0) {
+                continue;
+            }
+            boolean put = s.requestType == TransferEvent.RequestType.PUT;
+            long bytes = s.bytes.sum();
+            StringBuilder buffer = new StringBuilder(128);
+            buffer.append(put ? "Uploaded " : "Downloaded ")
+                    .append(count)
+                    .append(count == 1 ? " file (" : " files (")
+                    .append(formatBytes(bytes))
+                    .append(put ? ") to " : ") from ")
+                    .append(s.repositoryId);
+            long wall = s.lastEnd.get() - s.firstStart.get();
+            if (wall > 0) {
+                buffer.append(" at ").append(formatRate(bytes, wall));
+            }
+            buffer.append(", latency min ")
+                    .append(s.min.get())
+                    .append(" ms, avg ")
+                    .append(s.millis.sum() / count)
+                    .append(" ms, p95 ")
+                    .append(s.percentile(95))
+                    .append(" ms");
+            lines.add(buffer.toString());
+        }
+        return lines;
+    }
+
+    /**
+     * Formats a number of bytes, e.g. {@code 512 B}, {@code 3.4 KB} or {@code 12.0 MB}.
+     *
+     * @param bytes the number of bytes
+     * @return the formatted size
+     */
+    static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        if (bytes < 1024 * 1024) {
+            return tenths(bytes * 10 / 1024) + " KB";
+        }
+        return tenths(bytes * 10 / (1024 * 1024)) + " MB";
+    }
+
+    /**
+     * Formats a throughput, e.g. {@code 1.2 MB/s}.
+     *
+     * @param bytes the number of bytes transferred
+     * @param millis the time taken, must be positive
+     * @return the formatted throughput
+     */
+    static String formatRate(long bytes, long millis) {
+        return formatBytes(bytes * 1000 / millis) + "/s";
+    }
+
+    private static String tenths(long tenths) {
+        return tenths / 10 + "." + tenths % 10;
+    }
+
+    static int bucket(long millis) {
+        if (millis < 4) {
+            return (int) Math.max(0, millis);
+        }
+        int power = 63 - Long.numberOfLeadingZeros(millis);
+        int sub = (int) (millis >> (power - 2)) & 3;
+        return 4 * (power - 1) + sub;
+    }
+
+    static long upperBound(int bucket) {
+        if (bucket < 4) {
+            return bucket;
+        }
+        int power = bucket / 4 + 1;
+        long lower = (long) (4 + bucket % 4) << (power - 2);
+        return lower + (1L << (power - 2)) - 1;
+    }
+
+    private static final class Stats {
+
+        private final String repositoryId;
+
+        private final TransferEvent.RequestType requestType;
+
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder bytes = new LongAdder();
+
+        private final LongAdder millis = new LongAdder();
+
+        private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+
+        private final AtomicLong max = new AtomicLong();
+
+        private final AtomicLong firstStart = new AtomicLong(Long.MAX_VALUE);
+
+        private final AtomicLong lastEnd = new AtomicLong(Long.MIN_VALUE);
+
+        private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+        Stats(String repositoryId, TransferEvent.RequestType requestType) {
+            this.repositoryId = repositoryId;
+            this.requestType = requestType;
+        }
+
+        void add(long bytes, long startMillis, long endMillis) {
+            long duration = endMillis - startMillis;
+            this.bytes.add(bytes);
+            this.millis.add(duration);
+            min.accumulateAndGet(duration, Math::min);
+            max.accumulateAndGet(duration, Math::max);
+            firstStart.accumulateAndGet(startMillis, Math::min);
+            lastEnd.accumulateAndGet(endMillis, Math::max);
+            histogram.incrementAndGet(bucket(duration));
+            count.increment();
+        }
+
+        long percentile(int percent) {
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                total += histogram.get(i);
+            }
+            long rank = (total * percent + 99) / 100;
+            long seen = 0;
+            for (int i = 0; i < BUCKETS && rank > 0; i++) {
+                seen += histogram.get(i);
+                if (seen >= rank) {
+                    return Math.min(upperBound(i), max.get());
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -76,8 +76,44 @@ public abstract class AbstractDistTask extends Task {
     protected void validate() {
         getArtifacts().validate(this);
 
+        validateArtifacts(this, pom, getArtifacts());
+
+        final Pom defaultPom = AntRepoSys.getInstance(getProject()).getDefaultPom();
+        if (pom == null && defaultPom != null) {
+            log("Using default POM (" + defaultPom.getCoords() + ")", Project.MSG_INFO);
+            pom = defaultPom;
+        }
+
+        validatePom(pom);
+    }
+
+    /**
+     * Validates a POM and the artifacts to be distributed with it.
+     * Ensures there are no duplicate artifacts, that the POM is defined and has a file,
+     * and that each artifact's associated POM matches the main POM.
+     *
+     * @param task the task distributing the artifacts
+     * @param pom the POM of the artifacts, may be {@code null}
+     * @param artifacts the artifacts to distribute
+     * @throws BuildException if validation fails
+     */
+    static void validate(final Task task, final Pom pom, final Artifacts artifacts) {
+        validateArtifacts(task, pom, artifacts);
+        validatePom(pom);
+    }
+
+    /**
+     * Validates the artifacts to be distributed against the POM given explicitly to the task.
+     * The default POM is not considered here, an artifact with its own POM requires an explicit one.
+     *
+     * @param task the task distributing the artifacts
+     * @param pom the POM of the artifacts, may be {@code null}
+     * @param artifacts the artifacts to distribute
+     * @throws BuildException if validation fails
+     */
+    private static void validateArtifacts(final Task task, final Pom pom, final Artifacts artifacts) {
         final Map<String, File> duplicates = new HashMap<>();
-        for (final Artifact artifact : getArtifacts().getArtifacts()) {
+        for (final Artifact artifact : artifacts.getArtifacts()) {
             final String key = artifact.getType() + ':' + artifact.getClassifier();
             if ("pom:".equals(key)) {
                 throw new BuildException(
@@ -89,15 +125,17 @@ public abstract class AbstractDistTask extends Task {
                 duplicates.put(key, artifact.getFile());
             }
 
-            validateArtifactGav(artifact);
-        }
-
-        final Pom defaultPom = AntRepoSys.getInstance(getProject()).getDefaultPom();
-        if (pom == null && defaultPom != null) {
-            log("Using default POM (" + defaultPom.getCoords() + ")", Project.MSG_INFO);
-            pom = defaultPom;
+            validateArtifactGav(task, pom, artifact);
         }
+    }
 
+    /**
+     * Validates that the POM to distribute the artifacts with is defined and has a file.
+     *
+     * @param pom the POM of the artifacts, may be {@code null}
+     * @throws BuildException if validation fails
+     */
+    private static void validatePom(final Pom pom) {
         if (pom == null) {
             throw new BuildException(
                     "You must specify the <pom file=\"...\"> element" + " to denote the descriptor for the artifacts");
@@ -110,17 +148,19 @@ public abstract class AbstractDistTask extends Task {
     /**
      * Validates that an artifact's groupId, artifactId, and version (GAV) match the main POM's GAV.
      *
+     * @param task the task distributing the artifact
+     * @param pom the main POM
      * @param artifact the artifact to validate
      * @throws BuildException if the artifact's GAV does not match the main POM
      */
-    private void validateArtifactGav(final Artifact artifact) {
+    private static void validateArtifactGav(final Task task, final Pom pom, final Artifact artifact) {
         final Pom artifactPom = artifact.getPom();
         if (artifactPom != null) {
             final String gid;
             final String aid;
             final String version;
             if (artifactPom.getFile() != null) {
-                final Model model = artifactPom.getModel(this);
+                final Model model = artifactPom.getModel(task);
                 gid = model.getGroupId();
                 aid = model.getArtifactId();
                 version = model.getVersion();
@@ -130,12 +170,11 @@ public abstract class AbstractDistTask extends Task {
                 version = artifactPom.getVersion();
             }
 
-            final Pom pom = getPom();
             if (pom == null) {
                 throw new BuildException("You must specify the <pom file=\"...\"> element"
                         + " to denote the descriptor for the artifacts");
             }
-            final Model model = pom.getModel(this);
+            final Model model = pom.getModel(task);
 
             if (!(model.getGroupId().equals(gid)
                     && model.getArtifactId().equals(aid)
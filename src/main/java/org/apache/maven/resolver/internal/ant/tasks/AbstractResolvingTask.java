@@ -18,6 +18,8 @@
  */
 package org.apache.maven.resolver.internal.ant.tasks;
 
+import java.io.File;
+
 import org.apache.maven.resolver.internal.ant.AntRepoSys;
 import org.apache.maven.resolver.internal.ant.types.Dependencies;
 import org.apache.maven.resolver.internal.ant.types.LocalRepository;
@@ -60,6 +62,12 @@ public abstract class AbstractResolvingTask extends Task {
      */
     protected LocalRepository localRepository;
 
+    private boolean graphCache;
+
+    private File graphCacheDir;
+
+    private int collectorThreads;
+
     /**
      * Default constructor for {@code AbstractResolvingTask}.
      */
@@ -150,6 +158,42 @@ public abstract class AbstractResolvingTask extends Task {
         getRemoteRepos().addRemoterepos(repos);
     }
 
+    /**
+     * Sets whether collected dependency graphs are cached on disk and reused by later builds resolving the same
+     * dependencies from the same repositories (default: false).
+     *
+     * @param graphCache {@code true} to enable the persistent dependency graph cache
+     */
+    public void setGraphCache(final boolean graphCache) {
+        this.graphCache = graphCache;
+    }
+
+    /**
+     * Sets the directory of the persistent dependency graph cache and enables the cache. Defaults to
+     * {@code .cache/resolver-ant-tasks/graphs} within the local repository.
+     *
+     * @param graphCacheDir the directory holding the cached dependency graphs
+     */
+    public void setGraphCacheDir(final File graphCacheDir) {
+        this.graphCacheDir = graphCacheDir;
+        this.graphCache = true;
+    }
+
+    /**
+     * Sets the number of threads reading dependency descriptors concurrently during the collection. Selects the
+     * breadth-first collector of the resolver and prefetches the descriptors of the direct dependencies before the
+     * collection starts. By default the depth-first collector reads one descriptor at a time.
+     *
+     * @param collectorThreads the number of threads, must be positive
+     * @throws BuildException if the value is not positive
+     */
+    public void setCollectorThreads(final int collectorThreads) {
+        if (collectorThreads <= 0) {
+            throw new BuildException("The collectorThreads must be positive: " + collectorThreads);
+        }
+        this.collectorThreads = collectorThreads;
+    }
+
     /**
      * Performs dependency collection using the configured {@link Dependencies},
      * {@link LocalRepository}, and {@link RemoteRepositories}.
@@ -159,6 +203,13 @@ public abstract class AbstractResolvingTask extends Task {
      */
     protected CollectResult collectDependencies() {
         return AntRepoSys.getInstance(getProject())
-                .collectDependencies(this, dependencies, localRepository, remoteRepositories);
+                .collectDependencies(
+                        this,
+                        dependencies,
+                        localRepository,
+                        remoteRepositories,
+                        graphCache,
+                        graphCacheDir,
+                        collectorThreads);
     }
 }
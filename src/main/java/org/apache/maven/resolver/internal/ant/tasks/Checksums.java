@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.resolver.internal.ant.tasks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.Locale;
+
+import org.apache.maven.resolver.internal.ant.Digests;
+
+/**
+ * Helpers for the SHA-1 checksums of artifact files.
+ */
+final class Checksums {
+
+    private Checksums() {
+        // hide constructor
+    }
+
+    /**
+     * Computes the SHA-1 checksum of the given file.
+     *
+     * @param file the file to hash
+     * @return the checksum as lower case hex string
+     * @throws IOException if the file cannot be read
+     */
+    static String sha1(File file) throws IOException {
+        MessageDigest digest = Digests.newSha1();
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            byte[] buffer = new byte[32 * 1024];
+            for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return Digests.hex(digest.digest());
+    }
+
+    /**
+     * Reads the SHA-1 checksum stored next to the given file, as the local repository does for downloaded artifacts.
+     *
+     * @param file the artifact file
+     * @return the checksum as lower case hex string or {@code null} if there is no readable checksum file
+     */
+    static String readSha1(File file) {
+        File sidecar = new File(file.getPath() + ".sha1");
+        if (!sidecar.isFile()) {
+            return null;
+        }
+        try {
+            String content = new String(Files.readAllBytes(sidecar.toPath()), StandardCharsets.UTF_8).trim();
+            // some checksum files also contain the file name after the checksum
+            int space = content.indexOf(' ');
+            if (space > 0) {
+                content = content.substring(0, space);
+            }
+            return content.length() == 40 ? content.toLowerCase(Locale.ENGLISH) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
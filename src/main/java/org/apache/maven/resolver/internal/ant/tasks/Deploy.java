@@ -18,6 +18,8 @@
  */
 package org.apache.maven.resolver.internal.ant.tasks;
 
+import java.io.File;
+
 import org.apache.maven.resolver.internal.ant.AntRepoSys;
 import org.apache.maven.resolver.internal.ant.types.RemoteRepository;
 import org.apache.tools.ant.BuildException;
@@ -59,6 +61,10 @@ import org.apache.tools.ant.types.Reference;
  * <h2>Attributes:</h2>
  * <ul>
  *   <li><strong>failOnMissingPom</strong> — whether to fail if no POM information is provided (default: true)</li>
+ *   <li><strong>parallelism</strong> — the number of files uploaded concurrently (default: resolver defaults)</li>
+ *   <li><strong>stagingDir</strong> — stage the artifacts in this directory before deploying them</li>
+ *   <li><strong>phase</strong> — with a staging directory, whether to {@code stage}, {@code push} or do {@code both}
+ *   (default: both)</li>
  * </ul>
  *
  * <h2>Nested Elements:</h2>
@@ -86,10 +92,22 @@ import org.apache.tools.ant.types.Reference;
  */
 public class Deploy extends AbstractDistTask {
 
+    private static final String PHASE_STAGE = "stage";
+
+    private static final String PHASE_PUSH = "push";
+
+    private static final String PHASE_BOTH = "both";
+
     private RemoteRepository repository;
 
     private RemoteRepository snapshotRepository;
 
+    private int parallelism;
+
+    private File stagingDir;
+
+    private String phase = PHASE_BOTH;
+
     /**
      * Default constructor for the Deploy task.
      * <p>
@@ -100,7 +118,12 @@ public class Deploy extends AbstractDistTask {
 
     @Override
     protected void validate() {
-        super.validate();
+        if (stagingDir == null || !PHASE_PUSH.equals(phase)) {
+            super.validate();
+        }
+        if (stagingDir != null && PHASE_STAGE.equals(phase)) {
+            return;
+        }
 
         if (repository == null) {
             throw new BuildException("You must specify the <remoteRepo id=\"...\" url=\"...\"> element"
@@ -263,10 +286,66 @@ public class Deploy extends AbstractDistTask {
         snapshotRepository.setRefid(ref);
     }
 
+    /**
+     * Sets the number of artifact files uploaded concurrently. A value of {@code 1} uploads the files one after
+     * another. If not set, the defaults of the resolver apply. The repository metadata is only updated after all
+     * artifact files have been uploaded successfully.
+     *
+     * @param parallelism the number of concurrent uploads, must be positive
+     * @throws BuildException if the value is not positive
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new BuildException("The parallelism must be positive: " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Sets a directory to stage the artifacts in before deploying them. The artifacts are installed into the
+     * directory in repository layout and recorded in a manifest. Pushing deploys everything staged so far, several
+     * artifacts at a time, and can be resumed if it is interrupted.
+     *
+     * @param stagingDir the staging directory
+     * @see #setPhase(String)
+     */
+    public void setStagingDir(File stagingDir) {
+        this.stagingDir = stagingDir;
+    }
+
+    /**
+     * Sets what to do with the staging directory:
+     * <ul>
+     *   <li>{@code stage} — only stage the artifacts, no remote repository is needed</li>
+     *   <li>{@code push} — only deploy the artifacts staged before, no POM or artifacts are needed</li>
+     *   <li>{@code both} (default) — stage the artifacts and deploy everything staged</li>
+     * </ul>
+     *
+     * @param phase one of {@code stage}, {@code push} or {@code both}
+     * @throws BuildException if the phase is unknown
+     */
+    public void setPhase(String phase) {
+        if (!PHASE_STAGE.equals(phase) && !PHASE_PUSH.equals(phase) && !PHASE_BOTH.equals(phase)) {
+            throw new BuildException("Invalid phase '" + phase + "', must be one of stage, push or both");
+        }
+        this.phase = phase;
+    }
+
     @Override
     public void execute() throws BuildException {
         validate();
 
-        AntRepoSys.getInstance(getProject()).deploy(this, getPom(), getArtifacts(), repository, snapshotRepository);
+        AntRepoSys sys = AntRepoSys.getInstance(getProject());
+        if (stagingDir == null) {
+            sys.deploy(this, getPom(), getArtifacts(), repository, snapshotRepository, parallelism);
+            return;
+        }
+
+        if (!PHASE_PUSH.equals(phase)) {
+            sys.stage(this, getPom(), getArtifacts(), stagingDir);
+        }
+        if (!PHASE_STAGE.equals(phase)) {
+            sys.push(this, stagingDir, repository, snapshotRepository, parallelism);
+        }
     }
 }
@@ -0,0 +1,289 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.resolver.internal.ant.tasks;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.maven.model.Model;
+import org.apache.maven.resolver.internal.ant.AntRepoSys;
+import org.apache.maven.resolver.internal.ant.types.Artifact;
+import org.apache.maven.resolver.internal.ant.types.Artifacts;
+import org.apache.maven.resolver.internal.ant.types.Pom;
+import org.apache.maven.resolver.internal.ant.types.RemoteRepository;
+import org.apache.tools.ant.BuildException;
+import org.apache.tools.ant.Project;
+import org.apache.tools.ant.ProjectComponent;
+import org.apache.tools.ant.Task;
+import org.apache.tools.ant.types.Reference;
+
+/**
+ * Ant task to deploy the artifacts of several modules to a remote Maven repository at once.
+ * <p>
+ * Unlike calling {@code <deploy>} once per module, all modules share one repository system session, and all modules
+ * targeting the same repository are deployed by a single request. The artifact files of all modules are uploaded
+ * concurrently and the repository metadata is updated in one pass once every artifact file has been uploaded.
+ * </p>
+ *
+ * <h2>Usage Example:</h2>
+ * <pre>{@code
+ * <repo:deployAll parallelism="8">
+ *   <repo:module pomref="api.pom" artifactsref="api.artifacts"/>
+ *   <repo:module pomref="impl.pom" artifactsref="impl.artifacts"/>
+ *   <repo:remoteRepo refid="releases"/>
+ *   <repo:snapshotRepo refid="snapshots"/>
+ * </repo:deployAll>
+ * }</pre>
+ *
+ * <h2>Attributes:</h2>
+ * <ul>
+ *   <li><strong>parallelism</strong> — the number of files uploaded concurrently (default: resolver defaults)</li>
+ * </ul>
+ *
+ * <h2>Nested Elements:</h2>
+ * <ul>
+ *   <li>{@code <module>} — a POM with its artifacts, see {@link Module}</li>
+ *   <li>{@code <remoteRepo>} — defines the target repository for deployment</li>
+ *   <li>{@code <snapshotRepo>} — (optional) defines the target repository for snapshot deployments</li>
+ * </ul>
+ *
+ * @see Deploy
+ */
+public class DeployAll extends Task {
+
+    private final List<Module> modules = new ArrayList<>();
+
+    private RemoteRepository repository;
+
+    private RemoteRepository snapshotRepository;
+
+    private int parallelism;
+
+    /**
+     * Default constructor used by Ant to create a {@code DeployAll} task instance.
+     */
+    public DeployAll() {
+        // Default constructor for Ant task
+    }
+
+    /**
+     * Creates a nested {@code <module>} element.
+     *
+     * @return the new module
+     */
+    public Module createModule() {
+        Module module = new Module();
+        module.setProject(getProject());
+        modules.add(module);
+        return module;
+    }
+
+    /**
+     * Adds the remote repository to deploy to.
+     *
+     * @param repository the target repository
+     * @throws BuildException if a repository was already specified
+     */
+    public void addRemoteRepo(RemoteRepository repository) {
+        if (this.repository != null) {
+            throw new BuildException("You must not specify multiple <remoteRepo> elements");
+        }
+        this.repository = repository;
+    }
+
+    /**
+     * Sets a reference to the remote repository to deploy to.
+     *
+     * @param ref the reference to a remote repository
+     */
+    public void setRemoteRepoRef(Reference ref) {
+        if (repository == null) {
+            repository = new RemoteRepository();
+            repository.setProject(getProject());
+        }
+        repository.setRefid(ref);
+    }
+
+    /**
+     * Adds the remote repository to deploy snapshot versions to.
+     *
+     * @param snapshotRepository the target repository for snapshots
+     * @throws BuildException if a snapshot repository was already specified
+     */
+    public void addSnapshotRepo(RemoteRepository snapshotRepository) {
+        if (this.snapshotRepository != null) {
+            throw new BuildException("You must not specify multiple <snapshotRepo> elements");
+        }
+        this.snapshotRepository = snapshotRepository;
+    }
+
+    /**
+     * Sets a reference to the remote repository to deploy snapshot versions to.
+     *
+     * @param ref the reference to a remote repository
+     */
+    public void setSnapshotRepoRef(Reference ref) {
+        if (snapshotRepository == null) {
+            snapshotRepository = new RemoteRepository();
+            snapshotRepository.setProject(getProject());
+        }
+        snapshotRepository.setRefid(ref);
+    }
+
+    /**
+     * Sets the number of artifact files uploaded concurrently, see {@link Deploy#setParallelism(int)}.
+     *
+     * @param parallelism the number of concurrent uploads, must be positive
+     * @throws BuildException if the value is not positive
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new BuildException("The parallelism must be positive: " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    private void validate() {
+        if (modules.isEmpty()) {
+            throw new BuildException("You must specify at least one <module> element");
+        }
+
+        Set<String> ids = new HashSet<>();
+        for (Module module : modules) {
+            module.getArtifacts().validate(this);
+            AbstractDistTask.validate(this, module.pom, module.getArtifacts());
+            Model model = module.pom.getModel(this);
+            if (!ids.add(model.getId())) {
+                throw new BuildException("You must not specify the module " + model.getId() + " more than once");
+            }
+        }
+
+        if (repository == null) {
+            throw new BuildException("You must specify the <remoteRepo id=\"...\" url=\"...\"> element"
+                    + " to denote the target repository for the deployment");
+        } else {
+            repository.validate(this);
+        }
+        if (snapshotRepository != null) {
+            snapshotRepository.validate(this);
+        }
+    }
+
+    @Override
+    public void execute() throws BuildException {
+        validate();
+
+        Map<Pom, Artifacts> deployments = new LinkedHashMap<>();
+        for (Module module : modules) {
+            deployments.put(module.pom, module.getArtifacts());
+        }
+
+        log("Deploying " + modules.size() + " modules", Project.MSG_VERBOSE);
+
+        AntRepoSys.getInstance(getProject()).deploy(this, deployments, repository, snapshotRepository, parallelism);
+    }
+
+    /**
+     * A module to deploy: a POM file and the artifacts built from it, with the same nested elements and attributes
+     * as the {@code <deploy>} task.
+     */
+    public static class Module extends ProjectComponent {
+
+        private Pom pom;
+
+        private Artifacts artifacts;
+
+        /**
+         * Default constructor used by Ant to create a {@code Module} instance.
+         */
+        public Module() {
+            // Default constructor for Ant type
+        }
+
+        /**
+         * Sets the POM of this module.
+         *
+         * @param pom the POM to deploy
+         * @throws BuildException if multiple {@code <pom>} elements are specified
+         */
+        public void addPom(Pom pom) {
+            if (this.pom != null) {
+                throw new BuildException("You must not specify multiple <pom> elements");
+            }
+            this.pom = pom;
+        }
+
+        /**
+         * Sets a reference to the POM of this module.
+         *
+         * @param ref the reference to a POM
+         * @throws BuildException if multiple {@code <pom>} elements are specified
+         */
+        public void setPomRef(Reference ref) {
+            if (this.pom != null) {
+                throw new BuildException("You must not specify multiple <pom> elements");
+            }
+            pom = new Pom();
+            pom.setProject(getProject());
+            pom.setRefid(ref);
+        }
+
+        private Artifacts getArtifacts() {
+            if (artifacts == null) {
+                artifacts = new Artifacts();
+                artifacts.setProject(getProject());
+            }
+            return artifacts;
+        }
+
+        /**
+         * Adds an artifact of this module.
+         *
+         * @param artifact the artifact to deploy
+         */
+        public void addArtifact(Artifact artifact) {
+            getArtifacts().addArtifact(artifact);
+        }
+
+        /**
+         * Adds artifacts of this module.
+         *
+         * @param artifacts the artifacts to deploy
+         */
+        public void addArtifacts(Artifacts artifacts) {
+            getArtifacts().addArtifacts(artifacts);
+        }
+
+        /**
+         * Adds a reference to artifacts of this module.
+         *
+         * @param ref the reference to an {@code <artifacts>} element
+         */
+        public void setArtifactsRef(Reference ref) {
+            Artifacts artifacts = new Artifacts();
+            artifacts.setProject(getProject());
+            artifacts.setRefid(ref);
+            getArtifacts().addArtifacts(artifacts);
+        }
+    }
+}
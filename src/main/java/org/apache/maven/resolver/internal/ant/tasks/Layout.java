@@ -125,4 +125,9 @@ class Layout {
 
         return buffer.toString();
     }
+
+    @Override
+    public String toString() {
+        return String.join("", tokens);
+    }
 }
@@ -0,0 +1,290 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.resolver.internal.ant.tasks;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.apache.tools.ant.BuildException;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.repository.ArtifactRepository;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactResult;
+
+/**
+ * A pinned list of resolved artifacts, as read and written by the {@code lockfile} attribute of {@link Resolve}.
+ * <p>
+ * Each line of the file describes one artifact of the dependency graph:
+ * </p>
+ * <pre>
+ * groupId:artifactId:extension[:classifier]:version scope repositoryId size sha1
+ * </pre>
+ * <p>
+ * System scoped artifacts use the URI of their file instead of a repository id. Empty lines and text following a
+ * {@code #} are ignored.
+ * </p>
+ */
+final class Lockfile {
+
+    private static final String SYSTEM_PREFIX = "file:";
+
+    private final Map<String, Entry> entries;
+
+    private Lockfile(Map<String, Entry> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Creates a lockfile from the results of resolving the whole dependency graph.
+     *
+     * @param results the resolved artifacts
+     * @return the lockfile
+     * @throws BuildException if the checksum of an artifact cannot be computed
+     */
+    static Lockfile of(List<ArtifactResult> results) {
+        Map<String, Entry> entries = new TreeMap<>();
+        for (ArtifactResult result : results) {
+            Artifact artifact = result.getArtifact();
+            DependencyNode node = result.getRequest().getDependencyNode();
+            String scope = node != null && node.getDependency() != null
+                    ? node.getDependency().getScope()
+                    : "";
+            String repository;
+            String localPath = artifact.getProperty("localPath", null);
+            if (localPath != null) {
+                repository = new File(localPath).toURI().toString();
+            } else {
+                ArtifactRepository repo = result.getRepository();
+                repository = repo != null ? repo.getId() : "-";
+            }
+            File file = artifact.getFile();
+            Entry entry = new Entry(
+                    artifact.toString(), scope.isEmpty() ? "-" : scope, repository, file.length(), sha1(file));
+            entries.put(entry.coords, entry);
+        }
+        return new Lockfile(entries);
+    }
+
+    /**
+     * Reads a lockfile.
+     *
+     * @param file the file to read
+     * @return the lockfile
+     * @throws BuildException if the file cannot be read or is malformed
+     */
+    static Lockfile read(File file) {
+        Map<String, Entry> entries = new TreeMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            int lineNumber = 0;
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                lineNumber++;
+                int comment = line.indexOf('#');
+                if (comment >= 0) {
+                    line = line.substring(0, comment);
+                }
+                line = line.trim();
+                if (line.isEmpty()) {
+                    continue;
+                }
+                String[] tokens = line.split("\\s+");
+                if (tokens.length != 5) {
+                    throw new BuildException("Invalid line " + lineNumber + " in lockfile " + file + ": " + line);
+                }
+                try {
+                    Entry entry = new Entry(tokens[0], tokens[1], tokens[2], Long.parseLong(tokens[3]), tokens[4]);
+                    entries.put(entry.coords, entry);
+                } catch (NumberFormatException e) {
+                    throw new BuildException("Invalid size in line " + lineNumber + " of lockfile " + file, e);
+                }
+            }
+        } catch (IOException e) {
+            throw new BuildException("Cannot read lockfile " + file, e);
+        }
+        return new Lockfile(entries);
+    }
+
+    /**
+     * Writes this lockfile.
+     *
+     * @param file the file to write
+     * @throws BuildException if the file cannot be written
+     */
+    void write(File file) {
+        try {
+            File dir = file.getAbsoluteFile().getParentFile();
+            if (dir != null) {
+                Files.createDirectories(dir.toPath());
+            }
+            try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+                writer.write("# Resolved dependencies, written by the resolver <resolve> task");
+                writer.write(System.lineSeparator());
+                writer.write("# coordinates scope repository size sha1");
+                writer.write(System.lineSeparator());
+                for (String line : getLines()) {
+                    writer.write(line);
+                    writer.write(System.lineSeparator());
+                }
+            }
+        } catch (IOException e) {
+            throw new BuildException("Cannot write lockfile " + file, e);
+        }
+    }
+
+    List<String> getLines() {
+        List<String> lines = new ArrayList<>(entries.size());
+        for (Entry entry : entries.values()) {
+            lines.add(entry.toString());
+        }
+        return lines;
+    }
+
+    /**
+     * Compares this lockfile with another one.
+     *
+     * @param other the lockfile to compare with
+     * @return the lines missing in the other lockfile prefixed with {@code -} and the lines only present in the other
+     *         lockfile prefixed with {@code +}, empty if both are equal
+     */
+    List<String> diff(Lockfile other) {
+        Set<String> expected = new LinkedHashSet<>(getLines());
+        Set<String> actual = new LinkedHashSet<>(other.getLines());
+        List<String> diff = new ArrayList<>();
+        for (String line : expected) {
+            if (!actual.contains(line)) {
+                diff.add("- " + line);
+            }
+        }
+        for (String line : actual) {
+            if (!expected.contains(line)) {
+                diff.add("+ " + line);
+            }
+        }
+        return diff;
+    }
+
+    /**
+     * Creates a flat dependency graph holding all artifacts of this lockfile, suitable for resolution without
+     * collecting dependencies.
+     *
+     * @param repositories the configured remote repositories, artifacts are resolved from the repository with the
+     *            recorded id or from all repositories if no such repository is configured
+     * @return the root of the dependency graph
+     */
+    DependencyNode toGraph(List<RemoteRepository> repositories) {
+        DefaultDependencyNode root = new DefaultDependencyNode((Dependency) null);
+        root.setRequestContext("project");
+        List<DependencyNode> children = new ArrayList<>(entries.size());
+        for (Entry entry : entries.values()) {
+            Artifact artifact = new DefaultArtifact(entry.coords);
+            List<RemoteRepository> repos = repositories;
+            if (entry.repository.startsWith(SYSTEM_PREFIX)) {
+                String localPath = new File(URI.create(entry.repository)).getPath();
+                artifact = artifact.setProperties(Collections.singletonMap("localPath", localPath));
+                repos = Collections.emptyList();
+            } else {
+                for (RemoteRepository repository : repositories) {
+                    if (repository.getId().equals(entry.repository)) {
+                        repos = Collections.singletonList(repository);
+                        break;
+                    }
+                }
+            }
+            String scope = "-".equals(entry.scope) ? "" : entry.scope;
+            DefaultDependencyNode node = new DefaultDependencyNode(new Dependency(artifact, scope));
+            node.setRepositories(repos);
+            node.setRequestContext("project");
+            children.add(node);
+        }
+        root.setChildren(children);
+        return root;
+    }
+
+    /**
+     * Verifies that the given resolved artifacts match the size and checksum recorded in this lockfile.
+     *
+     * @param results the resolved artifacts
+     * @throws BuildException if an artifact does not match
+     */
+    void verify(List<ArtifactResult> results) {
+        for (ArtifactResult result : results) {
+            if (!result.isResolved()) {
+                continue;
+            }
+            Artifact artifact = result.getArtifact();
+            Entry entry = entries.get(artifact.toString());
+            if (entry == null) {
+                continue;
+            }
+            File file = artifact.getFile();
+            if (file.length() != entry.size || !sha1(file).equals(entry.sha1)) {
+                throw new BuildException("Artifact " + artifact + " (" + file + ") does not match the lockfile");
+            }
+        }
+    }
+
+    private static String sha1(File file) {
+        try {
+            return Checksums.sha1(file);
+        } catch (IOException e) {
+            throw new BuildException("Cannot compute checksum of " + file, e);
+        }
+    }
+
+    private static final class Entry {
+
+        private final String coords;
+
+        private final String scope;
+
+        private final String repository;
+
+        private final long size;
+
+        private final String sha1;
+
+        Entry(String coords, String scope, String repository, long size, String sha1) {
+            this.coords = coords;
+            this.scope = scope;
+            this.repository = repository;
+            this.size = size;
+            this.sha1 = sha1;
+        }
+
+        @Override
+        public String toString() {
+            return coords + ' ' + scope + ' ' + repository + ' ' + size + ' ' + sha1;
+        }
+    }
+}
@@ -0,0 +1,308 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.resolver.internal.ant.tasks;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+import org.apache.maven.resolver.internal.ant.AntRepoSys;
+import org.apache.maven.resolver.internal.ant.ProjectWorkspaceReader;
+import org.apache.maven.resolver.internal.ant.types.RemoteRepositories;
+import org.apache.maven.resolver.internal.ant.types.RemoteRepository;
+import org.apache.tools.ant.BuildException;
+import org.apache.tools.ant.DirectoryScanner;
+import org.apache.tools.ant.Project;
+import org.apache.tools.ant.Task;
+import org.apache.tools.ant.types.FileSet;
+import org.apache.tools.ant.types.Path;
+import org.apache.tools.ant.types.Reference;
+
+/**
+ * Ant task to register the modules of a multi-module build in the workspace at once.
+ * <p>
+ * Unlike defining one {@code <pom file="...">} per module, the effective models of all modules are built
+ * concurrently with one repository system session and a shared model cache, so parent POMs and imported BOMs common
+ * to the modules are read only once. The POMs of all modules are then registered in the workspace, and the modules
+ * can be exposed in build order: every module follows its parent and the modules it depends on.
+ * </p>
+ *
+ * <h2>Usage Example:</h2>
+ * <pre>{@code
+ * <repo:reactor property="modules" pathRefId="modules.dirs">
+ *   <fileset dir="modules" includes="api/pom.xml,impl/pom.xml,app/pom.xml"/>
+ * </repo:reactor>
+ * <subant target="build">
+ *   <path refid="modules.dirs"/>
+ * </subant>
+ * }</pre>
+ *
+ * <h2>Attributes:</h2>
+ * <ul>
+ *   <li><strong>property</strong> — (optional) the property receiving the comma separated coordinates
+ *   {@code groupId:artifactId:version} of the modules in build order</li>
+ *   <li><strong>pathRefId</strong> — (optional) the id of a path holding the base directories of the modules in
+ *   build order</li>
+ *   <li><strong>threads</strong> — the maximum number of models built concurrently (default: number of
+ *   processors)</li>
+ * </ul>
+ *
+ * <h2>Nested Elements:</h2>
+ * <ul>
+ *   <li>{@code <fileset>} — the POM files of the modules</li>
+ *   <li>{@code <remoteRepo>}, {@code <remoteRepos>} — (optional) the repositories to resolve parent and imported
+ *   POMs from</li>
+ * </ul>
+ */
+public class Reactor extends Task {
+
+    private final List<FileSet> fileSets = new ArrayList<>();
+
+    private RemoteRepositories remoteRepositories;
+
+    private String property;
+
+    private String pathRefId;
+
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Default constructor used by Ant to create a {@code Reactor} task instance.
+     */
+    public Reactor() {
+        // Default constructor for Ant task
+    }
+
+    /**
+     * Adds a set of POM files of the modules.
+     *
+     * @param fileSet the POM files
+     */
+    public void addFileSet(FileSet fileSet) {
+        fileSets.add(fileSet);
+    }
+
+    private RemoteRepositories getRemoteRepos() {
+        if (remoteRepositories == null) {
+            remoteRepositories = new RemoteRepositories();
+            remoteRepositories.setProject(getProject());
+        }
+        return remoteRepositories;
+    }
+
+    /**
+     * Adds a single {@code <remoteRepo>} element to resolve parent and imported POMs from.
+     *
+     * @param repository the remote repository to add
+     */
+    public void addRemoteRepo(RemoteRepository repository) {
+        getRemoteRepos().addRemoterepo(repository);
+    }
+
+    /**
+     * Adds a {@code <remoteRepos>} element to resolve parent and imported POMs from.
+     *
+     * @param repositories the remote repositories to add
+     */
+    public void addRemoteRepos(RemoteRepositories repositories) {
+        getRemoteRepos().addRemoterepos(repositories);
+    }
+
+    /**
+     * Sets a reference to an existing {@link RemoteRepositories} instance using {@code refid}.
+     *
+     * @param ref the reference to a {@code RemoteRepositories} element
+     */
+    public void setRemoteReposRef(Reference ref) {
+        RemoteRepositories repos = new RemoteRepositories();
+        repos.setProject(getProject());
+        repos.setRefid(ref);
+        getRemoteRepos().addRemoterepos(repos);
+    }
+
+    /**
+     * Sets the property receiving the coordinates of the modules in build order.
+     *
+     * @param property the name of the property
+     */
+    public void setProperty(String property) {
+        this.property = property;
+    }
+
+    /**
+     * Sets the id of the path holding the base directories of the modules in build order.
+     *
+     * @param pathRefId the id of the path
+     */
+    public void setPathRefId(String pathRefId) {
+        this.pathRefId = pathRefId;
+    }
+
+    /**
+     * Sets the maximum number of models built concurrently.
+     *
+     * @param threads the number of threads, must be positive
+     * @throws BuildException if the value is not positive
+     */
+    public void setThreads(int threads) {
+        if (threads <= 0) {
+            throw new BuildException("The number of threads must be positive: " + threads);
+        }
+        this.threads = threads;
+    }
+
+    @Override
+    public void execute() throws BuildException {
+        if (fileSets.isEmpty()) {
+            throw new BuildException("You must specify at least one <fileset> of POM files");
+        }
+
+        List<File> pomFiles = new ArrayList<>();
+        for (FileSet fileSet : fileSets) {
+            DirectoryScanner scanner = fileSet.getDirectoryScanner(getProject());
+            String[] names = scanner.getIncludedFiles();
+            Arrays.sort(names);
+            for (String name : names) {
+                pomFiles.add(new File(scanner.getBasedir(), name).getAbsoluteFile());
+            }
+        }
+
+        AntRepoSys sys = AntRepoSys.getInstance(getProject());
+        long start = System.nanoTime();
+        Map<File, Model> models = sys.loadModels(this, pomFiles, remoteRepositories, threads);
+        log(
+                "Loaded " + models.size() + " modules in " + (System.nanoTime() - start) / 1000000 + " ms",
+                Project.MSG_VERBOSE);
+
+        ProjectWorkspaceReader workspace = sys.getWorkspace();
+        for (Map.Entry<File, Model> module : models.entrySet()) {
+            workspace.addModel(module.getValue(), module.getKey());
+        }
+
+        List<File> order = sort(models);
+
+        if (property != null) {
+            StringBuilder buffer = new StringBuilder(order.size() * 64);
+            for (File pomFile : order) {
+                Model model = models.get(pomFile);
+                if (buffer.length() > 0) {
+                    buffer.append(',');
+                }
+                buffer.append(model.getGroupId())
+                        .append(':')
+                        .append(model.getArtifactId())
+                        .append(':')
+                        .append(model.getVersion());
+            }
+            getProject().setProperty(property, buffer.toString());
+        }
+
+        if (pathRefId != null) {
+            Path path = new Path(getProject());
+            for (File pomFile : order) {
+                path.createPathElement().setLocation(pomFile.getParentFile());
+            }
+            getProject().addReference(pathRefId, path);
+        }
+    }
+
+    /**
+     * Sorts the modules such that every module follows its parent and the modules it depends on, keeping the order of
+     * the POM files otherwise. Modules are matched by group and artifact id.
+     *
+     * @param models the effective models by POM file
+     * @return the POM files in build order
+     * @throws BuildException if two POM files define the same module or the modules depend on each other
+     */
+    static List<File> sort(Map<File, Model> models) {
+        Map<String, File> modules = new LinkedHashMap<>();
+        for (Map.Entry<File, Model> module : models.entrySet()) {
+            Model model = module.getValue();
+            File other = modules.put(key(model.getGroupId(), model.getArtifactId()), module.getKey());
+            if (other != null) {
+                throw new BuildException("The module " + key(model.getGroupId(), model.getArtifactId())
+                        + " is defined by both " + other + " and " + module.getKey());
+            }
+        }
+
+        List<File> order = new ArrayList<>(models.size());
+        Set<File> visited = new HashSet<>();
+        for (File pomFile : models.keySet()) {
+            visit(pomFile, models, modules, visited, new ArrayList<>(), order);
+        }
+        return order;
+    }
+
+    private static void visit(
+            File pomFile,
+            Map<File, Model> models,
+            Map<String, File> modules,
+            Set<File> visited,
+            List<File> path,
+            List<File> order) {
+        if (visited.contains(pomFile)) {
+            return;
+        }
+        if (path.contains(pomFile)) {
+            StringBuilder cycle = new StringBuilder(128);
+            for (File module : path.subList(path.indexOf(pomFile), path.size())) {
+                cycle.append(key(models.get(module))).append(" -> ");
+            }
+            throw new BuildException("The modules contain a cycle: " + cycle + key(models.get(pomFile)));
+        }
+        path.add(pomFile);
+        for (String upstream : getUpstreamKeys(models.get(pomFile))) {
+            File module = modules.get(upstream);
+            if (module != null && !module.equals(pomFile)) {
+                visit(module, models, modules, visited, path, order);
+            }
+        }
+        path.remove(path.size() - 1);
+        visited.add(pomFile);
+        order.add(pomFile);
+    }
+
+    private static List<String> getUpstreamKeys(Model model) {
+        List<String> keys = new ArrayList<>();
+        Parent parent = model.getParent();
+        if (parent != null) {
+            keys.add(key(parent.getGroupId(), parent.getArtifactId()));
+        }
+        for (Dependency dependency : model.getDependencies()) {
+            keys.add(key(dependency.getGroupId(), dependency.getArtifactId()));
+        }
+        return keys;
+    }
+
+    private static String key(Model model) {
+        return key(model.getGroupId(), model.getArtifactId());
+    }
+
+    private static String key(String groupId, String artifactId) {
+        return groupId + ':' + artifactId;
+    }
+}
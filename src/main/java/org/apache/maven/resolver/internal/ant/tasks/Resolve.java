@@ -20,18 +20,31 @@ package org.apache.maven.resolver.internal.ant.tasks;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 
 import org.apache.maven.resolver.internal.ant.AntRepoSys;
 import org.apache.maven.resolver.internal.ant.Names;
+import org.apache.maven.resolver.internal.ant.ResolverMetrics;
 import org.apache.maven.resolver.internal.ant.types.Dependencies;
+import org.apache.maven.resolver.internal.ant.types.Dependency;
+import org.apache.maven.resolver.internal.ant.types.DependencyContainer;
+import org.apache.maven.resolver.internal.ant.types.Exclusion;
 import org.apache.maven.resolver.internal.ant.types.Pom;
 import org.apache.tools.ant.BuildException;
 import org.apache.tools.ant.Project;
@@ -40,16 +53,19 @@ import org.apache.tools.ant.types.FileSet;
 import org.apache.tools.ant.types.Reference;
 import org.apache.tools.ant.types.resources.FileResource;
 import org.apache.tools.ant.types.resources.Resources;
-import org.apache.tools.ant.util.FileUtils;
 import org.eclipse.aether.RepositorySystem;
 import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.graph.DependencyFilter;
 import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.graph.DependencyVisitor;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.repository.WorkspaceRepository;
 import org.eclipse.aether.resolution.ArtifactRequest;
 import org.eclipse.aether.resolution.ArtifactResolutionException;
 import org.eclipse.aether.resolution.ArtifactResult;
 import org.eclipse.aether.util.artifact.SubArtifact;
+import org.eclipse.aether.util.concurrency.ExecutorUtils;
 import org.eclipse.aether.util.filter.ScopeDependencyFilter;
 
 /**
@@ -77,6 +93,11 @@ import org.eclipse.aether.util.filter.ScopeDependencyFilter;
  * <ul>
  *   <li><strong>failOnMissingDescriptor</strong> — whether to fail if a POM file cannot be resolved (default: false)</li>
  *   <li><strong>offline</strong> — whether to operate in offline mode (default: false)</li>
+ *   <li><strong>lockfile</strong> — file pinning the resolved artifacts with their size and checksum</li>
+ *   <li><strong>mode</strong> — how the lockfile is used: {@code write}, {@code verify} or {@code use}
+ *   (default: write)</li>
+ *   <li><strong>stateFile</strong> — file recording the inputs and results, skipping collection and resolution
+ *   while the inputs are unchanged</li>
  * </ul>
  *
  * <h2>Nested Elements:</h2>
@@ -104,10 +125,22 @@ import org.eclipse.aether.util.filter.ScopeDependencyFilter;
  */
 public class Resolve extends AbstractResolvingTask {
 
+    private static final String MODE_WRITE = "write";
+
+    private static final String MODE_VERIFY = "verify";
+
+    private static final String MODE_USE = "use";
+
     private final List<ArtifactConsumer> consumers = new ArrayList<>();
 
     private boolean failOnMissingAttachments;
 
+    private File lockfile;
+
+    private String mode = MODE_WRITE;
+
+    private File stateFile;
+
     /**
      * Default constructor used by Ant to create a {@code Resolve} task instance.
      */
@@ -134,6 +167,50 @@ public class Resolve extends AbstractResolvingTask {
         this.failOnMissingAttachments = failOnMissingAttachments;
     }
 
+    /**
+     * Sets the lockfile pinning the resolved artifacts, see {@link #setMode(String)}.
+     *
+     * @param lockfile the lockfile
+     */
+    public void setLockfile(File lockfile) {
+        this.lockfile = lockfile;
+    }
+
+    /**
+     * Sets how the {@code lockfile} is used:
+     * <ul>
+     *   <li>{@code write} (default) — records coordinates, scope, repository, size and SHA-1 of every artifact of the
+     *   collected dependency graph</li>
+     *   <li>{@code verify} — fails the build if the collected dependency graph does not match the lockfile</li>
+     *   <li>{@code use} — skips dependency collection and resolves exactly the artifacts of the lockfile, failing the
+     *   build if their size or checksum differs</li>
+     * </ul>
+     *
+     * @param mode one of {@code write}, {@code verify} or {@code use}
+     * @throws BuildException if the mode is unknown
+     */
+    public void setMode(String mode) {
+        if (!MODE_WRITE.equals(mode) && !MODE_VERIFY.equals(mode) && !MODE_USE.equals(mode)) {
+            throw new BuildException("Invalid mode '" + mode + "', must be one of write, verify or use");
+        }
+        this.mode = mode;
+    }
+
+    /**
+     * Sets the file recording the inputs of this task and the artifacts passed to its consumers. As long as the
+     * inputs are unchanged, later executions feed the consumers from this file instead of collecting and resolving
+     * the dependencies again. The inputs are the dependencies including their POM and dependency files, the
+     * dependencies and dependency management of the effective POM with its parents and imported BOMs, the remote
+     * repositories, the local repository, the settings files, the user properties and the consumer configuration.
+     * Results are not recorded if the dependency graph contains snapshots, version ranges or artifacts of the current
+     * build, and the file is ignored if a lockfile is used.
+     *
+     * @param stateFile the state file
+     */
+    public void setStateFile(File stateFile) {
+        this.stateFile = stateFile;
+    }
+
     /**
      * Creates a {@link Path} consumer that collects resolved artifact files into an Ant {@code <path>} reference.
      * <p>
@@ -211,7 +288,11 @@ public class Resolve extends AbstractResolvingTask {
             dependencies.setPomRef(new Reference(getProject(), Names.ID_DEFAULT_POM));
         }
 
-        if (dependencies != null) {
+        if (lockfile != null && MODE_USE.equals(mode)) {
+            if (!lockfile.isFile()) {
+                throw new BuildException("Lockfile " + lockfile + " does not exist");
+            }
+        } else if (dependencies != null) {
             dependencies.validate(this);
         } else {
             throw new BuildException("No <dependencies> set for resolution");
@@ -222,16 +303,57 @@ public class Resolve extends AbstractResolvingTask {
     public void execute() throws BuildException {
         validate();
 
+        try {
+            resolve();
+        } catch (RuntimeException | Error e) {
+            for (ArtifactConsumer consumer : consumers) {
+                consumer.abort();
+            }
+            throw e;
+        }
+    }
+
+    private void resolve() {
         AntRepoSys sys = AntRepoSys.getInstance(getProject());
 
         RepositorySystemSession session = sys.getSession(this, localRepository);
         RepositorySystem system = sys.getSystem();
         log("Using local repository " + session.getLocalRepository(), Project.MSG_VERBOSE);
 
-        DependencyNode root = collectDependencies().getRoot();
+        ResolveState state = null;
+        if (stateFile != null && lockfile != null) {
+            log("Ignoring state file " + stateFile + ", using lockfile " + lockfile, Project.MSG_VERBOSE);
+        } else if (stateFile != null) {
+            state = ResolveState.of(getInputs(sys, session));
+            ResolveState recorded = ResolveState.read(stateFile);
+            if (recorded != null && recorded.isUpToDate(state)) {
+                log("Dependencies are unchanged, using state file " + stateFile, Project.MSG_INFO);
+                for (int i = 0; i < consumers.size(); i++) {
+                    for (Artifact artifact : recorded.getArtifacts(i)) {
+                        consumers.get(i).process(artifact, session);
+                    }
+                }
+                for (ArtifactConsumer consumer : consumers) {
+                    consumer.finish();
+                }
+                return;
+            }
+        }
+
+        Lockfile locked = null;
+        DependencyNode root;
+        if (lockfile != null && MODE_USE.equals(mode)) {
+            log("Using lockfile " + lockfile, Project.MSG_VERBOSE);
+            locked = Lockfile.read(lockfile);
+            root = locked.toGraph(sys.getRepositories(session, remoteRepositories));
+        } else {
+            root = collectDependencies().getRoot();
+        }
         root.accept(new DependencyGraphLogger(this));
 
-        Map<String, Group> groups = new HashMap<>();
+        boolean recordable = state != null && isRecordable(root);
+
+        Map<String, Group> groups = new LinkedHashMap<>();
         for (ArtifactConsumer consumer : consumers) {
             String classifier = consumer.getClassifier();
             Group group = groups.get(classifier);
@@ -248,26 +370,271 @@ public class Resolve extends AbstractResolvingTask {
 
         log("Resolving artifacts", Project.MSG_INFO);
 
+        long start = System.nanoTime();
+        List<Future<List<ArtifactResult>>> futures = resolveGroups(system, session, groups.values());
+
+        Map<String, ArtifactResult> resolved = lockfile != null && !MODE_USE.equals(mode) ? new HashMap<>() : null;
+
+        int index = 0;
         for (Group group : groups.values()) {
             List<ArtifactResult> results;
             try {
-                results = system.resolveArtifacts(session, group.getRequests());
-            } catch (ArtifactResolutionException e) {
+                results = futures.get(index++).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BuildException("Interrupted while resolving artifacts", e);
+            } catch (ExecutionException e) {
+                if (!(e.getCause() instanceof ArtifactResolutionException)) {
+                    throw new BuildException("Could not resolve artifacts: " + e.getCause(), e.getCause());
+                }
+                ArtifactResolutionException are = (ArtifactResolutionException) e.getCause();
                 if (!group.isAttachments() || failOnMissingAttachments) {
-                    throw new BuildException("Could not resolve artifacts: " + e.getMessage(), e);
+                    throw new BuildException("Could not resolve artifacts: " + are.getMessage(), are);
                 }
-                results = e.getResults();
+                results = are.getResults();
                 for (ArtifactResult result : results) {
                     if (result.isMissing()) {
                         log("Ignoring missing attachment " + result.getRequest().getArtifact(), Project.MSG_VERBOSE);
                     } else if (!result.isResolved()) {
-                        throw new BuildException("Could not resolve artifacts: " + e.getMessage(), e);
+                        throw new BuildException("Could not resolve artifacts: " + are.getMessage(), are);
                     }
                 }
             }
 
-            group.processResults(results, session);
+            if (locked != null && !group.isAttachments()) {
+                locked.verify(results);
+            }
+            if (resolved != null && !group.isAttachments()) {
+                for (ArtifactResult result : results) {
+                    resolved.putIfAbsent(result.getRequest().getArtifact().toString(), result);
+                }
+            }
+
+            for (ArtifactResult result : results) {
+                if (result.getRepository() instanceof WorkspaceRepository) {
+                    recordable = false;
+                }
+            }
+
+            ResolveState recording = state;
+            group.processResults(results, session, (consumer, artifact) -> {
+                if (recording != null) {
+                    recording.add(consumers.indexOf(consumer), artifact);
+                }
+            });
+        }
+
+        sys.getMetrics().addTime(ResolverMetrics.RESOLVE, System.nanoTime() - start);
+
+        for (ArtifactConsumer consumer : consumers) {
+            consumer.finish();
+        }
+
+        if (recordable) {
+            log("Writing state file " + stateFile, Project.MSG_VERBOSE);
+            state.write(stateFile);
+        } else if (state != null && stateFile.exists()) {
+            log("Discarding state file " + stateFile + ", the results cannot be reused", Project.MSG_VERBOSE);
+            if (!stateFile.delete()) {
+                throw new BuildException("Cannot delete state file " + stateFile);
+            }
         }
+
+        if (lockfile != null && !MODE_USE.equals(mode)) {
+            Lockfile current = Lockfile.of(resolveAll(system, session, root, resolved));
+            if (MODE_WRITE.equals(mode)) {
+                log("Writing lockfile " + lockfile, Project.MSG_VERBOSE);
+                current.write(lockfile);
+            } else {
+                if (!lockfile.isFile()) {
+                    throw new BuildException("Lockfile " + lockfile + " does not exist");
+                }
+                List<String> diff = Lockfile.read(lockfile).diff(current);
+                if (!diff.isEmpty()) {
+                    throw new BuildException("Resolved dependencies do not match lockfile " + lockfile + ":"
+                            + System.lineSeparator() + String.join(System.lineSeparator(), diff));
+                }
+            }
+        }
+    }
+
+    /**
+     * Describes the inputs determining the results of this task, see {@link #setStateFile(File)}.
+     */
+    private List<String> getInputs(AntRepoSys sys, RepositorySystemSession session) {
+        List<String> inputs = new ArrayList<>();
+        inputs.add("local " + session.getLocalRepository().getBasedir().getAbsolutePath());
+        inputs.add("offline " + session.isOffline());
+        for (File file : sys.getSettingsFiles()) {
+            inputs.add("settings " + stamp(file));
+        }
+        for (RemoteRepository repository : sys.getRepositories(session, remoteRepositories)) {
+            inputs.add("repository " + repository + " " + repository.getMirroredRepositories());
+        }
+        describe(inputs, dependencies);
+        inputs.add("request " + sys.getCollectKey(this, dependencies, localRepository, remoteRepositories));
+        for (Map.Entry<String, String> property : new TreeMap<>(session.getUserProperties()).entrySet()) {
+            if (!property.getKey().startsWith("ant.")) {
+                inputs.add("property " + property.getKey() + "=" + property.getValue());
+            }
+        }
+        inputs.add("failOnMissingAttachments " + failOnMissingAttachments);
+        for (ArtifactConsumer consumer : consumers) {
+            inputs.add("consumer " + consumer.describe());
+        }
+        return inputs;
+    }
+
+    private static void describe(List<String> inputs, Dependencies dependencies) {
+        inputs.add("dependencies");
+        Pom pom = dependencies.getPom();
+        if (pom != null) {
+            inputs.add("pom "
+                    + (pom.getFile() != null
+                            ? stamp(pom.getFile())
+                            : pom.getGroupId() + ':' + pom.getArtifactId() + ':' + pom.getVersion()));
+        }
+        if (dependencies.getFile() != null) {
+            inputs.add("file " + stamp(dependencies.getFile()));
+        }
+        describe(inputs, dependencies.getExclusions());
+        for (DependencyContainer container : dependencies.getDependencyContainers()) {
+            if (container instanceof Dependency) {
+                Dependency dependency = (Dependency) container;
+                inputs.add("dependency " + dependency.getGroupId() + ':' + dependency.getArtifactId() + ':'
+                        + dependency.getType() + ':' + dependency.getClassifier() + ':' + dependency.getVersion() + ':'
+                        + dependency.getScope() + ' ' + stamp(dependency.getSystemPath()));
+                describe(inputs, dependency.getExclusions());
+            } else {
+                describe(inputs, (Dependencies) container);
+            }
+        }
+        inputs.add("end");
+    }
+
+    private static void describe(List<String> inputs, List<Exclusion> exclusions) {
+        for (Exclusion exclusion : exclusions) {
+            inputs.add("exclusion " + exclusion.getGroupId() + ':' + exclusion.getArtifactId() + ':'
+                    + exclusion.getExtension() + ':' + exclusion.getClassifier());
+        }
+    }
+
+    private static String stamp(File file) {
+        if (file == null) {
+            return "-";
+        }
+        return file.getAbsolutePath() + ' ' + file.lastModified() + ' ' + file.length();
+    }
+
+    /**
+     * Checks whether the results for the given dependency graph may be reused while the inputs are unchanged, i.e.
+     * whether the graph is free of snapshots and version ranges.
+     */
+    private static boolean isRecordable(DependencyNode root) {
+        boolean[] recordable = {true};
+        root.accept(new DependencyVisitor() {
+            @Override
+            public boolean visitEnter(DependencyNode node) {
+                if (node.getArtifact() != null && node.getArtifact().isSnapshot()
+                        || node.getVersionConstraint() != null
+                                && node.getVersionConstraint().getRange() != null) {
+                    recordable[0] = false;
+                }
+                return recordable[0];
+            }
+
+            @Override
+            public boolean visitLeave(DependencyNode node) {
+                return recordable[0];
+            }
+        });
+        return recordable[0];
+    }
+
+    /**
+     * Returns the main artifacts of all nodes of the given dependency graph, regardless of the scope filters of the
+     * consumers, in the order of the graph. Only the nodes not yet resolved for the consumers are resolved.
+     *
+     * @param resolved the results already resolved for the consumers, by the coordinates of the requested artifact
+     */
+    private List<ArtifactResult> resolveAll(
+            RepositorySystem system,
+            RepositorySystemSession session,
+            DependencyNode root,
+            Map<String, ArtifactResult> resolved) {
+        Map<String, ArtifactRequest> requests = new LinkedHashMap<>();
+        root.accept(new DependencyVisitor() {
+            @Override
+            public boolean visitEnter(DependencyNode node) {
+                if (node.getDependency() != null) {
+                    requests.putIfAbsent(node.getArtifact().toString(), new ArtifactRequest(node));
+                }
+                return true;
+            }
+
+            @Override
+            public boolean visitLeave(DependencyNode node) {
+                return true;
+            }
+        });
+
+        Map<String, ArtifactResult> results = new HashMap<>(resolved);
+        List<ArtifactRequest> missing = new ArrayList<>();
+        for (Map.Entry<String, ArtifactRequest> request : requests.entrySet()) {
+            if (!results.containsKey(request.getKey())) {
+                missing.add(request.getValue());
+            }
+        }
+        if (!missing.isEmpty()) {
+            try {
+                for (ArtifactResult result : system.resolveArtifacts(session, missing)) {
+                    results.put(result.getRequest().getArtifact().toString(), result);
+                }
+            } catch (ArtifactResolutionException e) {
+                throw new BuildException("Could not resolve artifacts: " + e.getMessage(), e);
+            }
+        }
+
+        List<ArtifactResult> all = new ArrayList<>(requests.size());
+        for (String key : requests.keySet()) {
+            all.add(results.get(key));
+        }
+        return all;
+    }
+
+    /**
+     * Resolves the artifacts of all groups. The groups are independent of each other, so main artifacts and
+     * attachments like sources or javadoc are resolved concurrently, using at most as many threads as given by the
+     * property {@value Names#PROPERTY_RESOLVE_THREADS} (by default one per group). The returned futures are in the
+     * order of the given groups, allowing the results to be processed deterministically.
+     */
+    private List<Future<List<ArtifactResult>>> resolveGroups(
+            RepositorySystem system, RepositorySystemSession session, Collection<Group> groups) {
+        List<Future<List<ArtifactResult>>> futures = new ArrayList<>(groups.size());
+        if (groups.isEmpty()) {
+            return futures;
+        }
+        int threads = Math.min(
+                groups.size(), ExecutorUtils.threadCount(session, groups.size(), Names.PROPERTY_RESOLVE_THREADS));
+        if (threads <= 1) {
+            for (Group group : groups) {
+                FutureTask<List<ArtifactResult>> future =
+                        new FutureTask<>(() -> system.resolveArtifacts(session, group.getRequests()));
+                future.run();
+                futures.add(future);
+            }
+            return futures;
+        }
+
+        ExecutorService executor = ExecutorUtils.threadPool(threads, getClass().getSimpleName() + "-");
+        try {
+            for (Group group : groups) {
+                futures.add(executor.submit(() -> system.resolveArtifacts(session, group.getRequests())));
+            }
+        } finally {
+            ExecutorUtils.shutdown(executor);
+        }
+        return futures;
     }
 
     /**
@@ -297,6 +664,8 @@ public class Resolve extends AbstractResolvingTask {
 
         private DependencyFilter filter;
 
+        private String scopes;
+
         /**
          * Default constructor for Ant task instantiation.
          * <p>
@@ -344,6 +713,27 @@ public class Resolve extends AbstractResolvingTask {
          */
         public void validate() {}
 
+        /**
+         * Completes the processing of the resolved artifacts, invoked once after all artifacts have been passed to
+         * {@link #process(Artifact, RepositorySystemSession)}.
+         * <p>
+         * This default implementation does nothing. Subclasses processing artifacts asynchronously wait for the
+         * processing to complete here.
+         * </p>
+         *
+         * @throws BuildException if the processing failed
+         */
+        public void finish() {}
+
+        /**
+         * Discards the processing still pending, invoked instead of {@link #finish()} or after it if the task fails.
+         * <p>
+         * This default implementation does nothing. Subclasses processing artifacts asynchronously stop and wait for
+         * that processing here, so it does not outlive the task.
+         * </p>
+         */
+        public void abort() {}
+
         /**
          * Processes a resolved artifact after dependency resolution has completed.
          * <p>
@@ -392,6 +782,16 @@ public class Resolve extends AbstractResolvingTask {
             }
 
             filter = new ScopeDependencyFilter(included, excluded);
+            this.scopes = scopes;
+        }
+
+        /**
+         * Describes the configuration of this consumer, to detect changed inputs of the {@link Resolve} task.
+         *
+         * @return the description
+         */
+        String describe() {
+            return getClass().getSimpleName() + " scopes=" + scopes + " classifier=" + getClassifier();
         }
 
         /**
@@ -478,6 +878,11 @@ public class Resolve extends AbstractResolvingTask {
             }
         }
 
+        @Override
+        String describe() {
+            return super.describe() + " refid=" + refid;
+        }
+
         /**
          * Adds the given artifact file to the configured Ant path.
          *
@@ -522,6 +927,20 @@ public class Resolve extends AbstractResolvingTask {
         private static final String DEFAULT_LAYOUT = Layout.GID_DIRS + "/" + Layout.AID + "/" + Layout.BVER + "/"
                 + Layout.AID + "-" + Layout.VER + "-" + Layout.CLS + "." + Layout.EXT;
 
+        private static final String LINK_HARD = "hard";
+
+        private static final String LINK_SYMBOLIC = "symbolic";
+
+        private static final String LINK_REFLINK = "reflink";
+
+        private static final String LINK_COPY = "copy";
+
+        private static final String VERIFY_TIMESTAMP = "timestamp";
+
+        private static final String VERIFY_CHECKSUM = "checksum";
+
+        private static final int DEFAULT_COPY_THREADS = 4;
+
         private String refid;
 
         private String classifier;
@@ -534,6 +953,16 @@ public class Resolve extends AbstractResolvingTask {
 
         private Resources resources;
 
+        private String linkMode = LINK_COPY;
+
+        private String verify = VERIFY_TIMESTAMP;
+
+        private ExecutorService executor;
+
+        private ResolverMetrics metrics;
+
+        private final Map<File, Future<?>> copies = new LinkedHashMap<>();
+
         /**
          * Default constructor for Ant task instantiation.
          * <p>
@@ -619,6 +1048,52 @@ public class Resolve extends AbstractResolvingTask {
             this.layout = new Layout(layout);
         }
 
+        /**
+         * Sets how artifacts are placed into the destination directory:
+         * <ul>
+         *   <li>{@code copy} (default) — copies the file from the local repository</li>
+         *   <li>{@code hard} — creates a hard link to the file in the local repository</li>
+         *   <li>{@code symbolic} — creates a symbolic link to the file in the local repository</li>
+         *   <li>{@code reflink} — creates a copy-on-write clone if the JDK and file system support it and a regular
+         *   copy otherwise</li>
+         * </ul>
+         * <p>
+         * If a link cannot be created, e.g. because the destination directory is on another file system, the file is
+         * copied instead. Note that linked files must not be modified, as this would modify the local repository.
+         * </p>
+         *
+         * @param linkMode one of {@code copy}, {@code hard}, {@code symbolic} or {@code reflink}
+         * @throws BuildException if the link mode is unknown
+         */
+        public void setLinkMode(String linkMode) {
+            if (!LINK_COPY.equals(linkMode)
+                    && !LINK_HARD.equals(linkMode)
+                    && !LINK_SYMBOLIC.equals(linkMode)
+                    && !LINK_REFLINK.equals(linkMode)) {
+                throw new BuildException("Invalid linkMode '" + linkMode
+                        + "', must be one of 'copy', 'hard', 'symbolic' or 'reflink'");
+            }
+            this.linkMode = linkMode;
+        }
+
+        /**
+         * Sets how an existing file in the destination directory is recognized as unchanged:
+         * <ul>
+         *   <li>{@code timestamp} (default) — same size and modification time as the artifact</li>
+         *   <li>{@code checksum} — same size and SHA-1 checksum, using the checksum file the local repository
+         *   stores next to the artifact where available</li>
+         * </ul>
+         *
+         * @param verify one of {@code timestamp} or {@code checksum}
+         * @throws BuildException if the value is unknown
+         */
+        public void setVerify(String verify) {
+            if (!VERIFY_TIMESTAMP.equals(verify) && !VERIFY_CHECKSUM.equals(verify)) {
+                throw new BuildException("Invalid verify '" + verify + "', must be one of 'timestamp' or 'checksum'");
+            }
+            this.verify = verify;
+        }
+
         /**
          * Validates that either a destination directory or a reference ID is set.
          *
@@ -635,6 +1110,12 @@ public class Resolve extends AbstractResolvingTask {
             }
         }
 
+        @Override
+        String describe() {
+            return super.describe() + " refid=" + refid + " dir=" + (dir != null ? dir.getAbsolutePath() : null)
+                    + " layout=" + layout + " linkMode=" + linkMode + " verify=" + verify;
+        }
+
         /**
          * Processes a resolved artifact by copying it to the destination directory or
          * registering it as a resource in the Ant project.
@@ -661,17 +1142,17 @@ public class Resolve extends AbstractResolvingTask {
                 File src = artifact.getFile();
                 File dst = new File(dir, path);
 
-                if (src.lastModified() != dst.lastModified() || src.length() != dst.length()) {
-                    try {
-                        Resolve.this.log("Copy " + src + " to " + dst, Project.MSG_VERBOSE);
-                        FileUtils.getFileUtils().copyFile(src, dst, null, true, true);
-                    } catch (IOException e) {
-                        throw new BuildException(
-                                "Failed to copy artifact file " + src + " to " + dst + ": " + e.getMessage(), e);
-                    }
-                } else {
-                    Resolve.this.log("Omit to copy " + src + " to " + dst + ", seems unchanged", Project.MSG_VERBOSE);
+                if (executor == null) {
+                    metrics = AntRepoSys.getInstance(getProject()).getMetrics();
+                    int threads = ExecutorUtils.threadCount(session, DEFAULT_COPY_THREADS, Names.PROPERTY_COPY_THREADS);
+                    executor = ExecutorUtils.threadPool(threads, Resolve.class.getSimpleName() + "-copy-");
+                }
+                // artifacts mapped to the same destination are placed in order, the last one wins
+                Future<?> previous = copies.remove(dst);
+                if (previous != null) {
+                    await(previous);
                 }
+                copies.put(dst, executor.submit(() -> place(src, dst)));
             } else {
                 if (resources == null) {
                     resources = new Resources();
@@ -685,6 +1166,140 @@ public class Resolve extends AbstractResolvingTask {
                 resources.add(resource);
             }
         }
+
+        /**
+         * Waits until all artifacts have been copied or linked into the destination directory.
+         *
+         * @throws BuildException if an artifact could not be copied
+         */
+        @Override
+        public void finish() {
+            if (executor == null) {
+                return;
+            }
+            try {
+                for (Future<?> copy : copies.values()) {
+                    await(copy);
+                }
+            } finally {
+                ExecutorUtils.shutdown(executor);
+                executor = null;
+                copies.clear();
+            }
+        }
+
+        /**
+         * Cancels the pending copies and waits for those already running to end.
+         */
+        @Override
+        public void abort() {
+            if (executor == null) {
+                return;
+            }
+            try {
+                for (Future<?> copy : copies.values()) {
+                    copy.cancel(false);
+                }
+                executor.shutdownNow();
+                while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                    Resolve.this.log("Waiting for running artifact copies to end", Project.MSG_VERBOSE);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                executor = null;
+                copies.clear();
+            }
+        }
+
+        private void await(Future<?> copy) {
+            try {
+                copy.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BuildException("Interrupted while copying artifact files", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof BuildException) {
+                    throw (BuildException) e.getCause();
+                }
+                throw new BuildException(e.getCause());
+            }
+        }
+
+        private Void place(File src, File dst) {
+            long start = System.nanoTime();
+            try {
+                if (isUpToDate(src, dst)) {
+                    Resolve.this.log("Omit to copy " + src + " to " + dst + ", seems unchanged", Project.MSG_VERBOSE);
+                } else {
+                    java.nio.file.Files.deleteIfExists(dst.toPath());
+                    if (!link(src, dst)) {
+                        Resolve.this.log("Copy " + src + " to " + dst, Project.MSG_VERBOSE);
+                        java.nio.file.Files.copy(src.toPath(), dst.toPath(), StandardCopyOption.COPY_ATTRIBUTES);
+                    }
+                }
+                return null;
+            } catch (IOException e) {
+                throw new BuildException(
+                        "Failed to copy artifact file " + src + " to " + dst + ": " + e.getMessage(), e);
+            } finally {
+                metrics.addTime(ResolverMetrics.COPY, System.nanoTime() - start);
+            }
+        }
+
+        private boolean isUpToDate(File src, File dst) throws IOException {
+            java.nio.file.Path target = dst.toPath();
+            if (java.nio.file.Files.isSymbolicLink(target)) {
+                return LINK_SYMBOLIC.equals(linkMode)
+                        && java.nio.file.Files.readSymbolicLink(target)
+                                .equals(src.getAbsoluteFile().toPath());
+            }
+            if (!dst.isFile() || src.length() != dst.length()) {
+                return false;
+            }
+            if (VERIFY_CHECKSUM.equals(verify)) {
+                String expected = Checksums.readSha1(src);
+                if (expected == null) {
+                    expected = Checksums.sha1(src);
+                }
+                return expected.equals(Checksums.sha1(dst));
+            }
+            return src.lastModified() == dst.lastModified();
+        }
+
+        /**
+         * Links or clones the given file according to the link mode.
+         *
+         * @return {@code false} if the file still needs to be copied
+         */
+        private boolean link(File src, File dst) throws IOException {
+            java.nio.file.Files.createDirectories(dst.getAbsoluteFile().toPath().getParent());
+            if (LINK_COPY.equals(linkMode)) {
+                return false;
+            }
+            java.nio.file.Path source = src.getAbsoluteFile().toPath();
+            java.nio.file.Path target = dst.getAbsoluteFile().toPath();
+            try {
+                if (LINK_HARD.equals(linkMode)) {
+                    Resolve.this.log("Link " + src + " to " + dst, Project.MSG_VERBOSE);
+                    java.nio.file.Files.createLink(target, source);
+                } else if (LINK_SYMBOLIC.equals(linkMode)) {
+                    Resolve.this.log("Symlink " + src + " to " + dst, Project.MSG_VERBOSE);
+                    java.nio.file.Files.createSymbolicLink(target, source);
+                } else {
+                    Resolve.this.log("Clone " + src + " to " + dst, Project.MSG_VERBOSE);
+                    java.nio.file.Files.copy(source, target, StandardCopyOption.COPY_ATTRIBUTES);
+                }
+                return true;
+            } catch (IOException | UnsupportedOperationException e) {
+                Resolve.this.log(
+                        "Could not " + linkMode + " link " + src + " to " + dst + ", copying instead: "
+                                + e.getMessage(),
+                        Project.MSG_VERBOSE);
+                java.nio.file.Files.deleteIfExists(target);
+                return false;
+            }
+        }
     }
 
     /**
@@ -773,6 +1388,11 @@ public class Resolve extends AbstractResolvingTask {
             }
         }
 
+        @Override
+        String describe() {
+            return super.describe() + " prefix=" + prefix;
+        }
+
         /**
          * Processes a resolved artifact by registering its absolute path as an Ant property.
          * The property name is derived from the artifact coordinates and the optional prefix.
@@ -856,7 +1476,10 @@ public class Resolve extends AbstractResolvingTask {
             return requests;
         }
 
-        public void processResults(List<ArtifactResult> results, RepositorySystemSession session) {
+        public void processResults(
+                List<ArtifactResult> results,
+                RepositorySystemSession session,
+                BiConsumer<ArtifactConsumer, Artifact> listener) {
             for (ArtifactResult result : results) {
                 if (!result.isResolved()) {
                     continue;
@@ -865,6 +1488,7 @@ public class Resolve extends AbstractResolvingTask {
                     if (consumer.accept(
                             result.getRequest().getDependencyNode(), Collections.<DependencyNode>emptyList())) {
                         consumer.process(result.getArtifact(), session);
+                        listener.accept(consumer, result.getArtifact());
                     }
                 }
             }
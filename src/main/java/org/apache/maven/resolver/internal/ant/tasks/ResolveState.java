@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.resolver.internal.ant.tasks;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.maven.resolver.internal.ant.Digests;
+import org.apache.tools.ant.BuildException;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+
+/**
+ * The recorded outcome of a {@link Resolve} task, as read and written by its {@code stateFile} attribute.
+ * <p>
+ * The state consists of a fingerprint of the inputs of the task and the artifacts passed to each of its consumers.
+ * As long as the fingerprint is unchanged and the artifact files still have the recorded size and modification time,
+ * the consumers can be fed from the state without collecting and resolving the dependencies again. Each line of the
+ * file describes one processed artifact:
+ * </p>
+ * <pre>
+ * consumerIndex groupId:artifactId:extension[:classifier]:version size lastModified path
+ * </pre>
+ */
+final class ResolveState {
+
+    private static final String FINGERPRINT = "fingerprint ";
+
+    private final String fingerprint;
+
+    private final Map<Integer, List<Entry>> entries = new TreeMap<>();
+
+    private ResolveState(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Creates an empty state for the given inputs.
+     *
+     * @param inputs the description of the inputs of the task
+     * @return the state
+     */
+    static ResolveState of(List<String> inputs) {
+        MessageDigest digest = Digests.newSha1();
+        for (String input : inputs) {
+            digest.update(input.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+        return new ResolveState(Digests.hex(digest.digest()));
+    }
+
+    /**
+     * Reads a previously written state.
+     *
+     * @param file the file to read
+     * @return the state or {@code null} if the file does not exist or cannot be read
+     */
+    static ResolveState read(File file) {
+        if (!file.isFile()) {
+            return null;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            if (line == null || !line.startsWith(FINGERPRINT)) {
+                return null;
+            }
+            ResolveState state = new ResolveState(line.substring(FINGERPRINT.length()).trim());
+            for (line = reader.readLine(); line != null; line = reader.readLine()) {
+                String[] tokens = line.split(" ", 5);
+                if (tokens.length != 5) {
+                    return null;
+                }
+                Artifact artifact = new DefaultArtifact(tokens[1]).setFile(new File(tokens[4]));
+                state.entries
+                        .computeIfAbsent(Integer.parseInt(tokens[0]), k -> new ArrayList<>())
+                        .add(new Entry(artifact, Long.parseLong(tokens[2]), Long.parseLong(tokens[3])));
+            }
+            return state;
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Records an artifact processed by a consumer.
+     *
+     * @param consumer the index of the consumer
+     * @param artifact the processed artifact, including its file
+     */
+    synchronized void add(int consumer, Artifact artifact) {
+        File file = artifact.getFile();
+        entries.computeIfAbsent(consumer, k -> new ArrayList<>())
+                .add(new Entry(artifact, file.length(), file.lastModified()));
+    }
+
+    /**
+     * Checks whether this state can replace resolution with the given inputs, i.e. whether it has the same fingerprint
+     * and all recorded artifact files are unchanged.
+     *
+     * @param other the state for the current inputs
+     * @return {@code true} if the recorded artifacts can be used
+     */
+    boolean isUpToDate(ResolveState other) {
+        if (!fingerprint.equals(other.fingerprint)) {
+            return false;
+        }
+        for (List<Entry> list : entries.values()) {
+            for (Entry entry : list) {
+                File file = entry.artifact.getFile();
+                if (!file.isFile() || file.length() != entry.size || file.lastModified() != entry.lastModified) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the artifacts recorded for a consumer.
+     *
+     * @param consumer the index of the consumer
+     * @return the artifacts in processing order
+     */
+    List<Artifact> getArtifacts(int consumer) {
+        List<Artifact> artifacts = new ArrayList<>();
+        for (Entry entry : entries.getOrDefault(consumer, Collections.emptyList())) {
+            artifacts.add(entry.artifact);
+        }
+        return artifacts;
+    }
+
+    /**
+     * Writes this state, replacing the file atomically where the file system supports it.
+     *
+     * @param file the file to write
+     * @throws BuildException if the file cannot be written
+     */
+    void write(File file) {
+        try {
+            File dir = file.getAbsoluteFile().getParentFile();
+            Files.createDirectories(dir.toPath());
+            File tmp = File.createTempFile(file.getName(), ".tmp", dir);
+            try {
+                try (Writer writer = Files.newBufferedWriter(tmp.toPath(), StandardCharsets.UTF_8)) {
+                    writer.write(FINGERPRINT + fingerprint + '\n');
+                    for (Map.Entry<Integer, List<Entry>> consumer : entries.entrySet()) {
+                        for (Entry entry : consumer.getValue()) {
+                            writer.write(consumer.getKey() + " " + entry + '\n');
+                        }
+                    }
+                }
+                try {
+                    Files.move(
+                            tmp.toPath(),
+                            file.toPath(),
+                            StandardCopyOption.REPLACE_EXISTING,
+                            StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(tmp.toPath());
+            }
+        } catch (IOException e) {
+            throw new BuildException("Cannot write resolution state " + file, e);
+        }
+    }
+
+    private static final class Entry {
+
+        private final Artifact artifact;
+
+        private final long size;
+
+        private final long lastModified;
+
+        Entry(Artifact artifact, long size, long lastModified) {
+            this.artifact = artifact;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        @Override
+        public String toString() {
+            return artifact + " " + size + ' ' + lastModified + ' ' + artifact.getFile().getAbsolutePath();
+        }
+    }
+}
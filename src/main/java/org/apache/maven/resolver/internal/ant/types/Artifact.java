@@ -276,11 +276,11 @@ public class Artifact extends RefTask implements ArtifactContainer {
     }
 
     /**
-     * Registers this artifact in the {@link ProjectWorkspaceReader} for internal resolution.
+     * Registers this artifact in the {@link ProjectWorkspaceReader} of the build for internal resolution.
      */
     @Override
     public void execute() throws BuildException {
-        ProjectWorkspaceReader.getInstance().addArtifact(this);
+        ProjectWorkspaceReader.getInstance(getProject()).addArtifact(this);
     }
 
     /**
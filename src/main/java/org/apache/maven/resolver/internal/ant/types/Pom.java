@@ -738,7 +738,7 @@ public class Pom extends RefTask {
             AntRepoSys.getInstance(getProject()).setDefaultPom(this);
         }
 
-        ProjectWorkspaceReader.getInstance().addPom(this);
+        ProjectWorkspaceReader.getInstance(getProject()).addPom(this);
 
         Model model = getModel(this);
 
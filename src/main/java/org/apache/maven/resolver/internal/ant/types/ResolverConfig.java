@@ -0,0 +1,256 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.resolver.internal.ant.types;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.maven.resolver.internal.ant.AntRepoSys;
+import org.apache.tools.ant.BuildException;
+import org.apache.tools.ant.Project;
+import org.apache.tools.ant.types.DataType;
+import org.apache.tools.ant.types.Reference;
+import org.eclipse.aether.ConfigurationProperties;
+
+/**
+ * Tunes the connectors and transports used to access remote repositories.
+ * <p>
+ * Every attribute maps onto a configuration property of the repository system, which could otherwise only be given
+ * as raw Ant or system properties. Unset attributes keep the defaults of the resolver. Properties given on the
+ * command line take precedence over the values configured here. When included in an Ant project, the configuration
+ * is registered with the {@link org.apache.maven.resolver.internal.ant.AntRepoSys} instance associated with the
+ * current project.
+ * </p>
+ *
+ * <h2>Attributes:</h2>
+ * <ul>
+ *   <li><strong>threads</strong> — number of concurrent transfers per repository operation (resolver default: 5)</li>
+ *   <li><strong>parallelPut</strong> — whether files are uploaded concurrently (resolver default: {@code true})</li>
+ *   <li><strong>smartChecksums</strong> — whether checksums sent by the server along with a download are used instead
+ *       of downloading the checksum files (resolver default: {@code true})</li>
+ *   <li><strong>connectTimeout</strong> — connect timeout in milliseconds (resolver default: 10000)</li>
+ *   <li><strong>requestTimeout</strong> — request timeout in milliseconds (resolver default: 1800000)</li>
+ *   <li><strong>maxConnectionsPerRoute</strong> — size of the HTTP connection pool per host (resolver default:
+ *       50)</li>
+ *   <li><strong>connectionMaxTtl</strong> — time in seconds a pooled HTTP connection may be reused (resolver
+ *       default: 300)</li>
+ *   <li><strong>reuseConnections</strong> — whether HTTP connections are kept alive and reused (resolver default:
+ *       {@code true})</li>
+ *   <li><strong>retryCount</strong> — number of retries of failed HTTP requests (resolver default: 3)</li>
+ *   <li><strong>expectContinue</strong> — whether uploads use {@code Expect: 100-continue}</li>
+ *   <li><strong>preemptiveAuth</strong> — whether HTTP credentials are sent without waiting for a challenge
+ *       (resolver default: {@code false})</li>
+ * </ul>
+ *
+ * <h2>Usage Example:</h2>
+ * <pre>{@code
+ * <resolverConfig threads="16" maxConnectionsPerRoute="32" connectionMaxTtl="600" requestTimeout="60000"/>
+ * }</pre>
+ *
+ * @see org.apache.maven.resolver.internal.ant.AntRepoSys#addResolverConfig(ResolverConfig)
+ */
+public class ResolverConfig extends DataType {
+
+    private static final String THREADS = "aether.connector.basic.threads";
+
+    private static final String PARALLEL_PUT = "aether.connector.basic.parallelPut";
+
+    private static final String SMART_CHECKSUMS = "aether.connector.smartChecksums";
+
+    private final Map<String, Object> properties = new TreeMap<>();
+
+    /**
+     * Default constructor used by Ant to create a {@code ResolverConfig} instance.
+     */
+    public ResolverConfig() {
+        // Default constructor for Ant type
+    }
+
+    /**
+     * Sets the Ant project associated with this configuration and registers it with the
+     * {@link org.apache.maven.resolver.internal.ant.AntRepoSys} instance for the project.
+     *
+     * @param project the Ant project
+     */
+    @Override
+    public void setProject(Project project) {
+        super.setProject(project);
+
+        AntRepoSys.getInstance(project).addResolverConfig(this);
+    }
+
+    /**
+     * Resolves this object if defined as a reference and verifies that it is a {@code ResolverConfig} instance.
+     *
+     * @return the referenced {@code ResolverConfig} instance
+     * @throws BuildException if the reference is invalid
+     */
+    protected ResolverConfig getRef() {
+        return getCheckedRef(ResolverConfig.class);
+    }
+
+    @Override
+    public void setRefid(Reference ref) {
+        if (!properties.isEmpty()) {
+            throw tooManyAttributes();
+        }
+        super.setRefid(ref);
+    }
+
+    /**
+     * Returns the configuration properties defined by the attributes of this element.
+     *
+     * @return the configuration properties, never {@code null}
+     */
+    public Map<String, Object> getProperties() {
+        if (isReference()) {
+            return getRef().getProperties();
+        }
+        return Collections.unmodifiableMap(properties);
+    }
+
+    private void set(String key, Object value) {
+        checkAttributesAllowed();
+        properties.put(key, value);
+    }
+
+    private void setPositive(String key, String attribute, int value) {
+        if (value <= 0) {
+            throw new BuildException("The " + attribute + " must be positive: " + value);
+        }
+        set(key, value);
+    }
+
+    private void setNotNegative(String key, String attribute, int value) {
+        if (value < 0) {
+            throw new BuildException("The " + attribute + " must not be negative: " + value);
+        }
+        set(key, value);
+    }
+
+    /**
+     * Sets the number of concurrent transfers per repository operation.
+     *
+     * @param threads the number of threads, must be positive
+     * @throws BuildException if the value is not positive
+     */
+    public void setThreads(int threads) {
+        setPositive(THREADS, "threads", threads);
+    }
+
+    /**
+     * Sets whether files are uploaded concurrently.
+     *
+     * @param parallelPut {@code true} to upload concurrently
+     */
+    public void setParallelPut(boolean parallelPut) {
+        set(PARALLEL_PUT, parallelPut);
+    }
+
+    /**
+     * Sets whether checksums sent by the server along with a download are used instead of downloading the checksum
+     * files.
+     *
+     * @param smartChecksums {@code true} to use checksums sent by the server
+     */
+    public void setSmartChecksums(boolean smartChecksums) {
+        set(SMART_CHECKSUMS, smartChecksums);
+    }
+
+    /**
+     * Sets the connect timeout.
+     *
+     * @param connectTimeout the timeout in milliseconds, must not be negative
+     * @throws BuildException if the value is negative
+     */
+    public void setConnectTimeout(int connectTimeout) {
+        setNotNegative(ConfigurationProperties.CONNECT_TIMEOUT, "connectTimeout", connectTimeout);
+    }
+
+    /**
+     * Sets the request timeout.
+     *
+     * @param requestTimeout the timeout in milliseconds, must not be negative
+     * @throws BuildException if the value is negative
+     */
+    public void setRequestTimeout(int requestTimeout) {
+        setNotNegative(ConfigurationProperties.REQUEST_TIMEOUT, "requestTimeout", requestTimeout);
+    }
+
+    /**
+     * Sets the size of the HTTP connection pool per host.
+     *
+     * @param maxConnectionsPerRoute the number of connections, must be positive
+     * @throws BuildException if the value is not positive
+     */
+    public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        setPositive(
+                ConfigurationProperties.HTTP_MAX_CONNECTIONS_PER_ROUTE,
+                "maxConnectionsPerRoute",
+                maxConnectionsPerRoute);
+    }
+
+    /**
+     * Sets the time a pooled HTTP connection may be reused.
+     *
+     * @param connectionMaxTtl the time in seconds, must not be negative
+     * @throws BuildException if the value is negative
+     */
+    public void setConnectionMaxTtl(int connectionMaxTtl) {
+        setNotNegative(ConfigurationProperties.HTTP_CONNECTION_MAX_TTL, "connectionMaxTtl", connectionMaxTtl);
+    }
+
+    /**
+     * Sets whether HTTP connections are kept alive and reused.
+     *
+     * @param reuseConnections {@code true} to reuse connections
+     */
+    public void setReuseConnections(boolean reuseConnections) {
+        set(ConfigurationProperties.HTTP_REUSE_CONNECTIONS, reuseConnections);
+    }
+
+    /**
+     * Sets the number of retries of failed HTTP requests.
+     *
+     * @param retryCount the number of retries, must not be negative
+     * @throws BuildException if the value is negative
+     */
+    public void setRetryCount(int retryCount) {
+        setNotNegative(ConfigurationProperties.HTTP_RETRY_HANDLER_COUNT, "retryCount", retryCount);
+    }
+
+    /**
+     * Sets whether uploads use {@code Expect: 100-continue}.
+     *
+     * @param expectContinue {@code true} to send {@code Expect: 100-continue}
+     */
+    public void setExpectContinue(boolean expectContinue) {
+        set(ConfigurationProperties.HTTP_EXPECT_CONTINUE, expectContinue);
+    }
+
+    /**
+     * Sets whether HTTP credentials are sent without waiting for a challenge.
+     *
+     * @param preemptiveAuth {@code true} to authenticate preemptively
+     */
+    public void setPreemptiveAuth(boolean preemptiveAuth) {
+        set(ConfigurationProperties.HTTP_PREEMPTIVE_AUTH, preemptiveAuth);
+    }
+}
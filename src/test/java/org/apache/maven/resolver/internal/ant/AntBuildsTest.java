@@ -95,7 +95,7 @@ public abstract class AntBuildsTest {
 
     @After
     public void tearDown() throws Exception {
-        ProjectWorkspaceReader.dropInstance();
+        getProject().fireBuildFinished(null);
         TestFileUtils.deleteFile(BUILD_DIR);
     }
 
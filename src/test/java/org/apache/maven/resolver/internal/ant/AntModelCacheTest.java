@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.resolver.internal.ant;
+
+import java.io.File;
+import java.util.Map;
+
+import junit.framework.JUnit4TestAdapter;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class AntModelCacheTest {
+    public static junit.framework.Test suite() {
+        return new JUnit4TestAdapter(AntModelCacheTest.class);
+    }
+
+    @Test
+    public void testEntriesKeyedByCoordinatesAndTag() {
+        ResolverMetrics metrics = new ResolverMetrics();
+        AntModelCache cache = new AntModelCache(metrics);
+        Object raw = new Object();
+        cache.put("g", "a", "1", "raw", raw);
+
+        assertSame(raw, cache.get("g", "a", "1", "raw"));
+        assertNull(cache.get("g", "a", "1", "import"));
+        assertNull(cache.get("g", "a", "2", "raw"));
+
+        Map<String, Long> map = metrics.toMap();
+        assertEquals(Long.valueOf(1), map.get("rawModelCache.hits"));
+        assertEquals(Long.valueOf(2), map.get("rawModelCache.misses"));
+    }
+
+    @Test
+    public void testResolvedPoms() {
+        AntModelCache cache = new AntModelCache(null);
+        File pom = new File("a-1.pom");
+        cache.putPom("g", "a", "1", pom);
+        cache.put("g", "a", "1", "raw", new Object());
+
+        assertSame(pom, cache.getPom("g", "a", "1"));
+        assertNull(cache.getPom("g", "a", "2"));
+
+        cache.clear();
+        assertNull(cache.getPom("g", "a", "1"));
+        assertNull(cache.get("g", "a", "1", "raw"));
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.resolver.internal.ant;
+
+import junit.framework.JUnit4TestAdapter;
+import org.apache.tools.ant.Project;
+import org.apache.tools.ant.Task;
+import org.eclipse.aether.RepositorySystemSession;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class AntRepoSysTest {
+    public static junit.framework.Test suite() {
+        return new JUnit4TestAdapter(AntRepoSysTest.class);
+    }
+
+    private Project project;
+
+    private Task task;
+
+    @Before
+    public void setUp() {
+        project = new Project();
+        project.setProperty("user.home", System.getProperty("user.home"));
+        task = new Task() {};
+        task.setProject(project);
+    }
+
+    @After
+    public void tearDown() {
+        project.fireBuildFinished(null);
+    }
+
+    /**
+     * Sessions copied from the same template share its session data.
+     */
+    private void assertSameTemplate(RepositorySystemSession first, RepositorySystemSession second) {
+        assertSame(first.getData(), second.getData());
+    }
+
+    @Test
+    public void testTasksShareSessionTemplate() {
+        project.setProperty(Names.PROPERTY_METRICS_PREFIX, "resolver.metrics");
+        AntRepoSys sys = AntRepoSys.getInstance(project);
+        RepositorySystemSession first = sys.getSession(task, null);
+
+        project.setProperty("unrelated", "value");
+        project.setProperty("resolver.metrics.collect.millis", "42");
+        RepositorySystemSession second = sys.getSession(task, null);
+
+        assertSameTemplate(first, second);
+    }
+
+    @Test
+    public void testResolverPropertyRebuildsSessionTemplate() {
+        AntRepoSys sys = AntRepoSys.getInstance(project);
+        RepositorySystemSession first = sys.getSession(task, null);
+
+        project.setProperty("aether.connector.basic.threads", "8");
+        RepositorySystemSession second = sys.getSession(task, null);
+
+        assertNotSame(first.getData(), second.getData());
+        assertSameTemplate(second, sys.getSession(task, null));
+    }
+
+    @Test
+    public void testUserPropertyRebuildsSessionTemplate() {
+        AntRepoSys sys = AntRepoSys.getInstance(project);
+        RepositorySystemSession first = sys.getSession(task, null);
+
+        project.setUserProperty("custom", "value");
+
+        assertNotSame(first.getData(), sys.getSession(task, null).getData());
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.resolver.internal.ant;
+
+import junit.framework.JUnit4TestAdapter;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class AntRepositoryCacheTest {
+    public static junit.framework.Test suite() {
+        return new JUnit4TestAdapter(AntRepositoryCacheTest.class);
+    }
+
+    @Test
+    public void testPutAndGet() {
+        AntRepositoryCache cache = new AntRepositoryCache(10);
+        cache.put(null, "key", "value");
+        assertEquals("value", cache.get(null, "key"));
+
+        cache.put(null, "key", null);
+        assertNull(cache.get(null, "key"));
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        AntRepositoryCache cache = new AntRepositoryCache(2);
+        cache.put(null, "a", "1");
+        cache.put(null, "b", "2");
+        cache.get(null, "a");
+        cache.put(null, "c", "3");
+
+        assertEquals(2, cache.size());
+        assertEquals("1", cache.get(null, "a"));
+        assertNull(cache.get(null, "b"));
+        assertEquals("3", cache.get(null, "c"));
+    }
+
+    @Test
+    public void testClear() {
+        AntRepositoryCache cache = new AntRepositoryCache(10);
+        cache.put(null, "a", "1");
+        cache.clear();
+
+        assertEquals(0, cache.size());
+        assertNull(cache.get(null, "a"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidMaxEntries() {
+        new AntRepositoryCache(0);
+    }
+}
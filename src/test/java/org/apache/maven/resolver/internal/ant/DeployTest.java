@@ -48,7 +48,7 @@ public class DeployTest extends AntBuildsTest {
         executeTarget("testDeployGlobalPom");
         long max = System.currentTimeMillis();
 
-        assertLogContaining("Uploading");
+        assertLogContaining("Uploaded");
 
         assertUpdatedFile(min, max, distRepoDir, "test/dummy/0.1-SNAPSHOT/maven-metadata.xml");
     }
@@ -59,7 +59,7 @@ public class DeployTest extends AntBuildsTest {
         executeTarget("testDeployOverrideGlobalPom");
         long max = System.currentTimeMillis();
 
-        assertLogContaining("Uploading");
+        assertLogContaining("Uploaded");
 
         assertUpdatedFile(min, max, distRepoDir, "test/other/0.1-SNAPSHOT/maven-metadata.xml");
     }
@@ -70,7 +70,7 @@ public class DeployTest extends AntBuildsTest {
         executeTarget("testDeployOverrideGlobalPomByRef");
         long max = System.currentTimeMillis();
 
-        assertLogContaining("Uploading");
+        assertLogContaining("Uploaded");
 
         assertUpdatedFile(min, max, distRepoDir, "test/dummy/0.1-SNAPSHOT/maven-metadata.xml");
         assertUpdatedFile(min, max, distRepoDir, "test/other/0.1-SNAPSHOT/maven-metadata.xml");
@@ -80,7 +80,7 @@ public class DeployTest extends AntBuildsTest {
     public void testDeployAttachedArtifact() {
         executeTarget("testDeployAttachedArtifact");
 
-        assertLogContaining("Uploading");
+        assertLogContaining("Uploaded");
 
         File dir = new File(distRepoDir, "test/dummy/0.1-SNAPSHOT/");
         String[] files = dir.list();
@@ -88,6 +88,76 @@ public class DeployTest extends AntBuildsTest {
                 "attached artifact not found: " + Arrays.toString(files), files, hasItemInArray(endsWith("-ant.xml")));
     }
 
+    @Test
+    public void testDeployParallel() {
+        long min = System.currentTimeMillis();
+        executeTarget("testDeployParallel");
+        long max = System.currentTimeMillis();
+
+        File dir = new File(distRepoDir, "test/dummy/0.1-SNAPSHOT/");
+        String[] files = dir.list();
+        assertThat(
+                "attached artifact not found: " + Arrays.toString(files), files, hasItemInArray(endsWith("-ant.xml")));
+        assertThat(
+                "attached artifact not found: " + Arrays.toString(files),
+                files,
+                hasItemInArray(endsWith("-other.pom")));
+        assertUpdatedFile(min, max, distRepoDir, "test/dummy/0.1-SNAPSHOT/maven-metadata.xml");
+    }
+
+    @Test
+    public void testDeployAll() {
+        long min = System.currentTimeMillis();
+        executeTarget("testDeployAll");
+        long max = System.currentTimeMillis();
+
+        File dir = new File(distRepoDir, "test/dummy/0.1-SNAPSHOT/");
+        String[] files = dir.list();
+        assertThat(
+                "attached artifact not found: " + Arrays.toString(files), files, hasItemInArray(endsWith("-ant.xml")));
+        assertUpdatedFile(min, max, distRepoDir, "test/dummy/0.1-SNAPSHOT/maven-metadata.xml");
+        assertUpdatedFile(min, max, distRepoDir, "test/other/0.1-SNAPSHOT/maven-metadata.xml");
+    }
+
+    @Test
+    public void testDeployStaged() {
+        long min = System.currentTimeMillis();
+        executeTarget("testDeployStaged");
+        long max = System.currentTimeMillis();
+
+        File dir = new File(distRepoDir, "test/dummy/0.1-SNAPSHOT/");
+        String[] files = dir.list();
+        assertThat(
+                "attached artifact not found: " + Arrays.toString(files), files, hasItemInArray(endsWith("-ant.xml")));
+        assertUpdatedFile(min, max, distRepoDir, "test/dummy/0.1-SNAPSHOT/maven-metadata.xml");
+        assertUpdatedFile(min, max, distRepoDir, "test/other/0.1-SNAPSHOT/maven-metadata.xml");
+        assertThat(
+                "staging manifest was not removed after push",
+                !new File(BUILD_DIR, "staging/staging.manifest").exists());
+    }
+
+    @Test
+    public void testDeployStagedResume() {
+        executeTarget("testDeployStagedResume");
+
+        assertThat("already pushed module was deployed again", !new File(distRepoDir, "test/dummy").exists());
+        assertThat(
+                "remaining module was not deployed",
+                new File(distRepoDir, "test/other/0.1-SNAPSHOT/maven-metadata.xml").exists());
+    }
+
+    @Test
+    public void testDeployRestagedAfterPush() {
+        executeTarget("testDeployRestagedAfterPush");
+
+        assertThat(
+                "restaged module was not deployed again",
+                new File(distRepoDir, "test/dummy/0.1-SNAPSHOT/maven-metadata.xml").exists());
+        assertThat(
+                "remaining module was not deployed",
+                new File(distRepoDir, "test/other/0.1-SNAPSHOT/maven-metadata.xml").exists());
+    }
+
     private void assertUpdatedFile(long min, long max, File repoPath, String path) {
         File file = new File(repoPath, path);
         min = (min / 1000) * 1000;
@@ -22,12 +22,15 @@ import java.io.File;
 import java.io.IOException;
 
 import junit.framework.JUnit4TestAdapter;
+import org.apache.tools.ant.BuildException;
 import org.junit.Test;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThrows;
 
 public class InstallTest extends AntBuildsTest {
     public static junit.framework.Test suite() {
@@ -65,6 +68,13 @@ public class InstallTest extends AntBuildsTest {
         assertUpdatedFile(tstamp, localRepoDir, "test/other/0.1-SNAPSHOT/other-0.1-SNAPSHOT.pom");
     }
 
+    @Test
+    public void testArtifactPomRequiresExplicitPom() {
+        BuildException e =
+                assertThrows(BuildException.class, () -> executeTarget("testArtifactPomRequiresExplicitPom"));
+        assertThat(e.getMessage(), containsString("You must specify the <pom file=\"...\"> element"));
+    }
+
     @Test
     public void testDefaultRepo() {
         executeTarget("testDefaultRepo");
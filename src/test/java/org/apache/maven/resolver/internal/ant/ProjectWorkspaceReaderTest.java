@@ -30,8 +30,11 @@ import org.junit.Test;
 
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 public class ProjectWorkspaceReaderTest {
     public static junit.framework.Test suite() {
@@ -119,4 +122,46 @@ public class ProjectWorkspaceReaderTest {
         assertThat(
                 reader.findVersions(artifact("test:dummy:txt:[0,)")), containsInAnyOrder("1-SNAPSHOT", "2-SNAPSHOT"));
     }
+
+    @Test
+    public void testFindVersionsMatchesVersionlessId() {
+        Pom pom = new Pom();
+        pom.setProject(project);
+        pom.setCoords("test:dummy:1-SNAPSHOT");
+
+        org.apache.maven.resolver.internal.ant.types.Artifact artifact =
+                new org.apache.maven.resolver.internal.ant.types.Artifact();
+        artifact.setProject(project);
+        artifact.addPom(pom);
+        artifact.setFile(getFile("dummy-file.txt"));
+
+        reader.addArtifact(artifact);
+        reader.addArtifact(artifact);
+
+        assertThat(reader.findVersions(artifact("test:dummy:txt:[0,)")), containsInAnyOrder("1-SNAPSHOT"));
+        assertTrue(reader.findVersions(artifact("test:dummy:jar:[0,)")).isEmpty());
+        assertTrue(reader.findVersions(artifact("test:dummy:txt:sources:[0,)")).isEmpty());
+        assertTrue(reader.findVersions(artifact("test:other:txt:[0,)")).isEmpty());
+    }
+
+    @Test
+    public void testNamedWorkspaceClearedOnLastRelease() {
+        ProjectWorkspaceReader first = ProjectWorkspaceReader.acquire("test");
+        ProjectWorkspaceReader second = ProjectWorkspaceReader.acquire("test");
+        assertSame(first, second);
+
+        Pom pom = new Pom();
+        pom.setProject(project);
+        pom.setFile(getFile("dummy-pom.xml"));
+        first.addPom(pom);
+
+        first.release();
+        assertEquals(pom.getFile(), second.findArtifact(artifact("test:dummy:pom:0.1-SNAPSHOT")));
+        second.release();
+        assertNull(second.findArtifact(artifact("test:dummy:pom:0.1-SNAPSHOT")));
+
+        ProjectWorkspaceReader third = ProjectWorkspaceReader.acquire("test");
+        assertNotSame(first, third);
+        third.release();
+    }
 }
@@ -20,15 +20,21 @@ package org.apache.maven.resolver.internal.ant;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Map;
 
 import junit.framework.JUnit4TestAdapter;
+import org.apache.tools.ant.BuildException;
+import org.apache.tools.ant.Project;
 import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.artifact.DefaultArtifact;
 import org.junit.Test;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
 
 public class ReactorTest extends AntBuildsTest {
     public static junit.framework.Test suite() {
@@ -42,7 +48,7 @@ public class ReactorTest extends AntBuildsTest {
     @Test
     public void testPom() throws IOException {
         executeTarget("testPom");
-        ProjectWorkspaceReader reader = ProjectWorkspaceReader.getInstance();
+        ProjectWorkspaceReader reader = ProjectWorkspaceReader.getInstance(getProject());
         File found = reader.findArtifact(artifact("test:test:pom:0.1-SNAPSHOT"));
         assertNotNull(found);
         assertEquals(new File(projectDir, "pom1.xml"), found.getAbsoluteFile());
@@ -51,7 +57,7 @@ public class ReactorTest extends AntBuildsTest {
     @Test
     public void testArtifact() throws IOException {
         executeTarget("testArtifact");
-        ProjectWorkspaceReader reader = ProjectWorkspaceReader.getInstance();
+        ProjectWorkspaceReader reader = ProjectWorkspaceReader.getInstance(getProject());
         File found = reader.findArtifact(artifact("test:test:pom:0.1-SNAPSHOT"));
         assertNotNull(found);
         assertEquals(new File(projectDir, "pom1.xml"), found.getAbsoluteFile());
@@ -64,7 +70,7 @@ public class ReactorTest extends AntBuildsTest {
     @Test
     public void testArtifactInMemoryPom() throws IOException {
         executeTarget("testArtifactInMemoryPom");
-        ProjectWorkspaceReader reader = ProjectWorkspaceReader.getInstance();
+        ProjectWorkspaceReader reader = ProjectWorkspaceReader.getInstance(getProject());
         File found = reader.findArtifact(artifact("test:test:pom:0.1-SNAPSHOT"));
         assertNull(found);
 
@@ -94,4 +100,81 @@ public class ReactorTest extends AntBuildsTest {
         String prop = getProject().getProperty("resolve.test:test:jar");
         assertEquals(new File(projectDir, "pom1.xml").getAbsolutePath(), prop);
     }
+
+    @Test
+    public void testWorkspaceScopedToBuild() throws IOException {
+        executeTarget("testPom");
+        Artifact pom = artifact("test:test:pom:0.1-SNAPSHOT");
+        assertNotNull(ProjectWorkspaceReader.getInstance(getProject()).findArtifact(pom));
+
+        Project other = new Project();
+        other.setProperty("user.home", System.getProperty("user.home"));
+        assertNull(ProjectWorkspaceReader.getInstance(other).findArtifact(pom));
+        other.fireBuildFinished(null);
+
+        getProject().fireBuildFinished(null);
+        assertNull(ProjectWorkspaceReader.getInstance(getProject()).findArtifact(pom));
+    }
+
+    @Test
+    public void testNamedWorkspace() throws IOException {
+        executeTarget("testNamedWorkspace");
+        String prop = getProject().getProperty("resolve.test:test:jar");
+        assertEquals(new File(projectDir, "pom1.xml").getAbsolutePath(), prop);
+    }
+
+    @Test
+    public void testSubBuildSharesWorkspace() throws IOException {
+        executeTarget("testSubBuildSharesWorkspace");
+        String prop = getProject().getProperty("resolve.test:test:jar");
+        assertEquals(new File(projectDir, "pom1.xml").getAbsolutePath(), prop);
+    }
+
+    @Test
+    public void testLateNamedWorkspace() {
+        BuildException e = assertThrows(BuildException.class, () -> executeTarget("testLateNamedWorkspace"));
+        assertThat(e.getMessage(), containsString("resolver.workspace must be set before the first resolver task"));
+    }
+
+    @Test
+    public void testReactorTask() throws IOException {
+        executeTarget("testReactorTask");
+        assertEquals(
+                "test:reactor-parent:0.1-SNAPSHOT,test:reactor-b:0.1-SNAPSHOT,test:reactor-a:0.1-SNAPSHOT",
+                getProject().getProperty("modules"));
+        File modules = new File(projectDir, "modules").getAbsoluteFile();
+        assertEquals(
+                new File(modules, "parent") + "," + new File(modules, "b") + "," + new File(modules, "a"),
+                getProject().getProperty("modules.dirs"));
+
+        ProjectWorkspaceReader reader = ProjectWorkspaceReader.getInstance(getProject());
+        File found = reader.findArtifact(artifact("test:reactor-a:pom:0.1-SNAPSHOT"));
+        assertNotNull(found);
+        assertEquals(new File(modules, "a/pom.xml"), found.getAbsoluteFile());
+    }
+
+    @Test
+    public void testModelCache() throws IOException {
+        executeTarget("testModelCache");
+        Map<String, Long> metrics = AntRepoSys.getInstance(getProject()).getMetrics().toMap();
+        assertEquals(Long.valueOf(1), metrics.get("modelCache.misses"));
+        assertEquals(Long.valueOf(1), metrics.get("modelCache.hits"));
+        assertEquals("0.1-SNAPSHOT", getProject().getProperty("second.version"));
+    }
+
+    @Test
+    public void testModelCacheKeepsModelsOnExportedMetrics() {
+        executeTarget("testModelCacheKeepsModelsOnExportedMetrics");
+        assertNotNull("metrics were not exported", getProject().getProperty("resolver.metrics.modelCache.misses"));
+        Map<String, Long> metrics = AntRepoSys.getInstance(getProject()).getMetrics().toMap();
+        assertEquals(Long.valueOf(1), metrics.get("modelCache.misses"));
+        assertEquals(Long.valueOf(1), metrics.get("modelCache.hits"));
+    }
+
+    @Test
+    public void testModelCacheRebuildsModelsOnNewProperty() {
+        executeTarget("testModelCacheRebuildsModelsOnNewProperty");
+        Map<String, Long> metrics = AntRepoSys.getInstance(getProject()).getMetrics().toMap();
+        assertEquals(Long.valueOf(2), metrics.get("modelCache.misses"));
+    }
 }
@@ -20,11 +20,17 @@ package org.apache.maven.resolver.internal.ant;
 
 import java.io.File;
 import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 import junit.framework.JUnit4TestAdapter;
+import org.apache.tools.ant.BuildException;
+import org.apache.tools.ant.Project;
 import org.apache.tools.ant.types.Path;
 import org.apache.tools.ant.types.ResourceCollection;
 import org.apache.tools.ant.types.resources.FileResource;
@@ -35,11 +41,16 @@ import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasItemInArray;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertThrows;
 
 public class ResolveTest extends AntBuildsTest {
     public static junit.framework.Test suite() {
@@ -58,6 +69,71 @@ public class ResolveTest extends AntBuildsTest {
                 allOf(containsString("aether-api"), endsWith(".jar")));
     }
 
+    @Test
+    public void testResolveWithDaemon() throws Exception {
+        try (ResolverDaemon daemon = new ResolverDaemon(0, 1)) {
+            Thread thread = new Thread(daemon::run);
+            thread.start();
+            getProject().setProperty(Names.PROPERTY_DAEMON_PORT, String.valueOf(daemon.getPort()));
+
+            executeTarget("testResolveGlobalPom");
+
+            assertThat(buildRule.getFullLog(), containsString("Collecting dependencies with resolver daemon"));
+            assertThat(buildRule.getFullLog(), not(containsString("collecting in process")));
+            String prop = getProject().getProperty("test.resolve.path.org.eclipse.aether:aether-api:jar");
+            assertThat("aether-api was not resolved as a property", prop, notNullValue());
+        }
+    }
+
+    @Test
+    public void testResolveWithDaemonRejectsInvalidToken() throws Exception {
+        File tokenFile;
+        try (ResolverDaemon daemon = new ResolverDaemon(0, 1)) {
+            tokenFile = ResolverDaemon.getTokenFile(daemon.getPort());
+            assertThat("token file was not written", tokenFile.isFile(), is(true));
+            Files.write(tokenFile.toPath(), "invalid".getBytes(StandardCharsets.UTF_8));
+
+            Thread thread = new Thread(daemon::run);
+            thread.start();
+            getProject().setProperty(Names.PROPERTY_DAEMON_PORT, String.valueOf(daemon.getPort()));
+
+            executeTarget("testResolveGlobalPom");
+
+            assertThat(buildRule.getFullLog(), containsString("Invalid token"));
+            assertThat(buildRule.getFullLog(), containsString("collecting in process"));
+            String prop = getProject().getProperty("test.resolve.path.org.eclipse.aether:aether-api:jar");
+            assertThat("aether-api was not resolved as a property", prop, notNullValue());
+        }
+        assertThat("token file was not deleted", tokenFile.exists(), is(false));
+    }
+
+    @Test
+    public void testResolveWithoutDaemon() throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        getProject().setProperty(Names.PROPERTY_DAEMON_PORT, String.valueOf(port));
+
+        executeTarget("testResolveGlobalPom");
+
+        assertThat(buildRule.getFullLog(), containsString("collecting in process"));
+        String prop = getProject().getProperty("test.resolve.path.org.eclipse.aether:aether-api:jar");
+        assertThat("aether-api was not resolved as a property", prop, notNullValue());
+    }
+
+    @Test
+    public void testResolveMetrics() {
+        getProject().setProperty(Names.PROPERTY_METRICS_PREFIX, "test.metrics");
+
+        executeTarget("testResolveGlobalPom");
+
+        assertThat(getProject().getProperty("test.metrics.collect.count"), is("1"));
+        assertThat(getProject().getProperty("test.metrics.resolve.count"), is("1"));
+        assertThat(getProject().getProperty("test.metrics.descriptorReads"), notNullValue());
+        assertThat(getProject().getProperty("test.metrics.lockWait.count"), notNullValue());
+    }
+
     @Test
     public void testResolveOverrideGlobalPom() {
         executeTarget("testResolveOverrideGlobalPom");
@@ -82,6 +158,29 @@ public class ResolveTest extends AntBuildsTest {
                 endsWith("local-repo-custom/org/eclipse/aether/aether-api/0.9.0.M3/aether-api-0.9.0.M3.jar"));
     }
 
+    @Test
+    public void testResolveSharedSystem() {
+        // every <antcall> acquires the shared repository system and releases it when its sub-build finishes
+        executeTarget("testResolveSharedSystem");
+
+        File dir = new File(BUILD_DIR, "resolve-shared");
+        assertThat(new File(dir, "first/aether-api.jar").isFile(), is(true));
+        assertThat(new File(dir, "second/aether-api.jar").isFile(), is(true));
+    }
+
+    @Test
+    public void testResolveAfterBuildFinished() {
+        executeTarget("testResolveHardLinks");
+        AntRepoSys sys = AntRepoSys.getInstance(getProject());
+
+        // finishing the build shuts down the repository system, later builds in the same project get a new one
+        getProject().fireBuildFinished(null);
+        executeTarget("testResolveHardLinks");
+
+        assertThat(AntRepoSys.getInstance(getProject()), not(sameInstance(sys)));
+        assertThat(getProject().getProperty("test.resolve.path.org.eclipse.aether:aether-api:jar"), notNullValue());
+    }
+
     @Test
     public void testResolveCustomFileLayout() throws IOException {
         File dir = new File(BUILD_DIR, "resolve-custom-layout");
@@ -92,6 +191,30 @@ public class ResolveTest extends AntBuildsTest {
                 new File(dir, "org.eclipse.aether/aether-api/org/eclipse/aether/jar").exists());
     }
 
+    @Test
+    public void testResolveHardLinks() throws IOException {
+        executeTarget("testResolveHardLinks");
+
+        File linked = new File(BUILD_DIR, "resolve-links/aether-api.jar");
+        File original = new File(getProject().getProperty("test.resolve.path.org.eclipse.aether:aether-api:jar"));
+        assertThat("aether-api was not linked", linked.exists());
+        assertThat("aether-api was copied", Files.isSameFile(linked.toPath(), original.toPath()));
+    }
+
+    @Test
+    public void testResolveVerifyChecksum() {
+        executeTarget("testResolveVerifyChecksum");
+
+        File dir = new File(BUILD_DIR, "resolve-checksum");
+        assertThat("aether-spi was not copied", new File(dir, "aether-spi.jar").exists());
+        assertThat("aether-api was not copied", new File(dir, "aether-api.jar").exists());
+        assertThat(
+                "aether-api was copied again",
+                buildRule.getFullLog(),
+                containsString("aether-api.jar, seems unchanged"));
+        assertThat(new File(dir, "aether-api.jar").lastModified(), is(0L));
+    }
+
     @Test
     public void testResolveAttachments() throws IOException {
         File dir = new File(BUILD_DIR, "resolve-attachments");
@@ -140,6 +263,109 @@ public class ResolveTest extends AntBuildsTest {
         assertThat("aether-api was resolved as a property", prop, nullValue());
     }
 
+    @Test
+    public void testResolveCollectorThreads() {
+        executeTarget("testResolveCollectorThreads");
+
+        assertThat(buildRule.getFullLog(), containsString("Prefetching 2 dependency descriptors"));
+        for (String artifactId : Arrays.asList("aether-impl", "aether-util", "aether-spi", "aether-api")) {
+            String prop = getProject().getProperty("test.resolve.path.org.eclipse.aether:" + artifactId + ":jar");
+            assertThat(artifactId + " was not resolved", prop, notNullValue());
+        }
+    }
+
+    @Test
+    public void testResolveStateFile() {
+        executeTarget("testResolveStateFile");
+
+        assertThat(new File(BUILD_DIR, "resolve-state/resolve.state").isFile(), is(true));
+        String log = buildRule.getFullLog();
+        int restored = log.indexOf("Dependencies are unchanged, using state file");
+        assertThat("unchanged inputs were resolved again", restored, not(-1));
+        assertThat("changed inputs reused the state", log.indexOf("Dependencies are unchanged", restored + 1), is(-1));
+
+        String first = getProject().getProperty("test.resolve.first.org.eclipse.aether:aether-api:jar");
+        String second = getProject().getProperty("test.resolve.second.org.eclipse.aether:aether-api:jar");
+        assertThat("aether-api was not resolved as a property", first, notNullValue());
+        assertThat(second, is(first));
+        Path path = getProject().getReference("test.resolve.second.path");
+        assertThat(path.list().length, is(2));
+    }
+
+    @Test
+    public void testResolveStateFileParentChanged() {
+        executeTarget("setUpStateFileParent");
+        executeTarget("testResolveStateFileParent");
+        assertThat(
+                getProject().getProperty("test.resolve.parent.org.eclipse.aether:aether-spi:jar"), notNullValue());
+
+        getProject().setUserProperty("test.parent.artifactId", "aether-util");
+        executeTarget("writeStateFileParent");
+
+        getProject().fireBuildFinished(null);
+        configureProject(buildFile.getAbsolutePath(), Project.MSG_VERBOSE);
+        executeTarget("testResolveStateFileParent");
+
+        assertThat(
+                "changed parent POM reused the state",
+                getLog(),
+                not(containsString("Dependencies are unchanged, using state file")));
+        assertThat(
+                "dependency of the changed parent POM was not resolved",
+                getProject().getProperty("test.resolve.parent.org.eclipse.aether:aether-util:jar"),
+                notNullValue());
+        assertThat(
+                "dependency of the previous parent POM was restored",
+                getProject().getProperty("test.resolve.parent.org.eclipse.aether:aether-spi:jar"),
+                nullValue());
+    }
+
+    @Test
+    public void testResolveMissingAttachmentStopsCopies() {
+        assertThrows(BuildException.class, () -> executeTarget("testResolveMissingAttachmentStopsCopies"));
+
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            assertThat(
+                    "copy thread outlived the failed task: " + thread.getName(),
+                    thread.getName().startsWith("Resolve-copy-") && thread.isAlive(),
+                    is(false));
+        }
+    }
+
+    @Test
+    public void testResolveGraphCache() {
+        executeTarget("testResolveGraphCache");
+
+        String[] graphs = new File(BUILD_DIR, "graph-cache").list();
+        assertThat("dependency graph was not cached", graphs, notNullValue());
+        assertThat(graphs.length, is(1));
+
+        String first = getProject().getProperty("test.resolve.first.org.eclipse.aether:aether-api:jar");
+        String second = getProject().getProperty("test.resolve.second.org.eclipse.aether:aether-api:jar");
+        assertThat("aether-api was not resolved as a property", first, notNullValue());
+        assertThat("cached graph differs", second, is(first));
+        assertThat(buildRule.getFullLog(), containsString("Using cached dependency graph"));
+    }
+
+    @Test
+    public void testResolveLockfile() throws IOException {
+        executeTarget("testResolveLockfile");
+
+        List<String> lines = Files.readAllLines(new File(BUILD_DIR, "deps.lock").toPath());
+        assertThat(lines, hasItem(startsWith("org.eclipse.aether:aether-api:jar:0.9.0.v20140226 compile ")));
+
+        String prop = getProject().getProperty("test.resolve.path.org.eclipse.aether:aether-spi:jar");
+        assertThat("aether-spi was not resolved from the lockfile", prop, notNullValue());
+        prop = getProject().getProperty("test.resolve.path.org.eclipse.aether:aether-api:jar");
+        assertThat("aether-api was not resolved from the lockfile", prop, notNullValue());
+    }
+
+    @Test
+    public void testResolveLockfileVerifyMismatch() {
+        BuildException e = assertThrows(BuildException.class, () -> executeTarget("testResolveLockfileVerifyMismatch"));
+        assertThat(e.getMessage(), containsString("- org.eclipse.aether:aether-spi:jar:0.9.0.v20140226"));
+    }
+
     @Test
     public void testResolveNestedDependencyCollections() {
         executeTarget("testResolveNestedDependencyCollections");
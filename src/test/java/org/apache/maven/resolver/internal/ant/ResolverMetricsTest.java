@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.resolver.internal.ant;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.JUnit4TestAdapter;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ResolverMetricsTest {
+    public static junit.framework.Test suite() {
+        return new JUnit4TestAdapter(ResolverMetricsTest.class);
+    }
+
+    @Test
+    public void testToMap() {
+        ResolverMetrics metrics = new ResolverMetrics();
+        metrics.addTime(ResolverMetrics.COLLECT, TimeUnit.MILLISECONDS.toNanos(5));
+        metrics.addTime(ResolverMetrics.COLLECT, TimeUnit.MILLISECONDS.toNanos(7));
+        metrics.addTransfer("central", TransferEvent.RequestType.GET, 100, 0, 10);
+        metrics.addTransfer("central", TransferEvent.RequestType.GET, 50, 10, 30);
+        metrics.increment("descriptorReads");
+
+        Map<String, Long> map = metrics.toMap();
+        assertEquals(Long.valueOf(2), map.get("collect.count"));
+        assertEquals(Long.valueOf(12), map.get("collect.millis"));
+        assertEquals(Long.valueOf(2), map.get("transfer.central.get.files"));
+        assertEquals(Long.valueOf(150), map.get("transfer.central.get.bytes"));
+        assertEquals(Long.valueOf(30), map.get("transfer.central.get.millis"));
+        assertEquals(Long.valueOf(1), map.get("descriptorReads"));
+        assertEquals(5, metrics.getUpdates());
+    }
+
+    @Test
+    public void testRepositoryCacheHitsAndMisses() {
+        ResolverMetrics metrics = new ResolverMetrics();
+        AntRepositoryCache cache = new AntRepositoryCache(10, metrics);
+        cache.get(null, "key");
+        cache.put(null, "key", "value");
+        cache.get(null, "key");
+
+        assertEquals(Long.valueOf(1), metrics.toMap().get("repositoryCache.hits"));
+        assertEquals(Long.valueOf(1), metrics.toMap().get("repositoryCache.misses"));
+    }
+
+    @Test
+    public void testReportWrittenOnLastRelease() throws Exception {
+        File report = new File("target/metrics/report.json");
+        Files.deleteIfExists(report.toPath());
+
+        ResolverMetrics first = ResolverMetrics.acquire(report);
+        ResolverMetrics second = ResolverMetrics.acquire(report);
+        assertSame(first, second);
+        first.increment("descriptorReads");
+
+        first.release();
+        assertFalse(report.exists());
+        second.release();
+
+        String json = new String(Files.readAllBytes(report.toPath()), StandardCharsets.UTF_8);
+        assertEquals("{\n  \"descriptorReads\": 1\n}\n", json);
+    }
+
+    @Test
+    public void testCsvReport() throws Exception {
+        File report = new File("target/metrics/report.csv");
+        ResolverMetrics metrics = ResolverMetrics.acquire(report);
+        metrics.addTime(ResolverMetrics.COPY, TimeUnit.MILLISECONDS.toNanos(3));
+        metrics.release();
+
+        String csv = new String(Files.readAllBytes(report.toPath()), StandardCharsets.UTF_8);
+        assertTrue(csv, csv.startsWith("name,value\n"));
+        assertTrue(csv, csv.contains("\n\"copy.count\",1\n"));
+        assertTrue(csv, csv.contains("\n\"copy.millis\",3\n"));
+    }
+}
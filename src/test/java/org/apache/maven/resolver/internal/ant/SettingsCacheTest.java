@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.resolver.internal.ant;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.JUnit4TestAdapter;
+import org.apache.maven.settings.Settings;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+
+public class SettingsCacheTest {
+    public static junit.framework.Test suite() {
+        return new JUnit4TestAdapter(SettingsCacheTest.class);
+    }
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File userSettings;
+
+    private File globalSettings;
+
+    private File securitySettings;
+
+    private final Properties systemProperties = new Properties();
+
+    private final Properties userProperties = new Properties();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Before
+    public void setUp() throws IOException {
+        SettingsCache.clear();
+        userSettings = folder.newFile("settings.xml");
+        write(userSettings, "<settings><localRepository>${repo.dir}</localRepository></settings>");
+        globalSettings = new File(folder.getRoot(), "global-settings.xml");
+        securitySettings = new File(folder.getRoot(), "settings-security.xml");
+    }
+
+    @After
+    public void tearDown() {
+        SettingsCache.clear();
+    }
+
+    private static void write(File file, String content) throws IOException {
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Settings get() {
+        return SettingsCache.get(
+                userSettings, globalSettings, securitySettings, systemProperties, userProperties, () -> {
+                    loads.incrementAndGet();
+                    Settings settings = new Settings();
+                    settings.setLocalRepository(userProperties.getProperty("repo.dir"));
+                    return settings;
+                });
+    }
+
+    @Test
+    public void testReusesSettings() {
+        Settings first = get();
+        Settings second = get();
+
+        assertEquals(1, loads.get());
+        assertNotSame(first, second);
+        assertNotSame(get(), second);
+    }
+
+    @Test
+    public void testReloadsChangedFile() throws IOException {
+        get();
+        write(userSettings, "<settings><offline>true</offline></settings>");
+
+        get();
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testReloadsChangedReferencedProperty() {
+        userProperties.setProperty("repo.dir", "a");
+        assertEquals("a", get().getLocalRepository());
+
+        userProperties.setProperty("unrelated", "b");
+        assertEquals("a", get().getLocalRepository());
+        assertEquals(1, loads.get());
+
+        userProperties.setProperty("repo.dir", "c");
+        assertEquals("c", get().getLocalRepository());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testDoesNotCacheFailures() {
+        Settings settings = SettingsCache.get(
+                userSettings, globalSettings, securitySettings, systemProperties, userProperties, () -> {
+                    loads.incrementAndGet();
+                    return null;
+                });
+
+        assertNull(settings);
+        get();
+        assertEquals(2, loads.get());
+    }
+}
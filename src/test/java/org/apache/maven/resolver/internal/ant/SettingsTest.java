@@ -20,13 +20,18 @@ package org.apache.maven.resolver.internal.ant;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Map;
 
 import junit.framework.JUnit4TestAdapter;
+import org.apache.tools.ant.BuildException;
+import org.eclipse.aether.ConfigurationProperties;
 import org.junit.Test;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThrows;
 
 public class SettingsTest extends AntBuildsTest {
     public static junit.framework.Test suite() {
@@ -64,6 +69,23 @@ public class SettingsTest extends AntBuildsTest {
                 equalTo("userSettings.xml"));
     }
 
+    @Test
+    public void testResolverConfig() {
+        executeTarget("testResolverConfig");
+        Map<String, Object> config =
+                AntRepoSys.getInstance(getProject()).getSession(null, null).getConfigProperties();
+        assertThat(config.get("aether.connector.basic.threads"), equalTo(7));
+        assertThat(config.get(ConfigurationProperties.HTTP_MAX_CONNECTIONS_PER_ROUTE), equalTo(16));
+        assertThat(config.get(ConfigurationProperties.HTTP_REUSE_CONNECTIONS), equalTo(false));
+        assertThat(config.get("aether.connector.smartChecksums"), equalTo(false));
+    }
+
+    @Test
+    public void testResolverConfigInvalid() {
+        BuildException e = assertThrows(BuildException.class, () -> executeTarget("testResolverConfigInvalid"));
+        assertThat(e.getMessage(), containsString("threads must be positive"));
+    }
+
     @Test
     public void testFallback() throws IOException {
         executeTarget("setUp");
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.resolver.internal.ant;
+
+import junit.framework.JUnit4TestAdapter;
+import org.apache.maven.repository.internal.MavenRepositorySystemUtils;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.repository.LocalRepository;
+import org.junit.Test;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+public class SharedRepositorySystemTest {
+    public static junit.framework.Test suite() {
+        return new JUnit4TestAdapter(SharedRepositorySystemTest.class);
+    }
+
+    @Test
+    public void testSharedUntilLastRelease() {
+        SharedRepositorySystem first = SharedRepositorySystem.acquire();
+        SharedRepositorySystem second = SharedRepositorySystem.acquire();
+        assertSame(first, second);
+        assertSame(first.getSystem(), second.getSystem());
+
+        first.release();
+        SharedRepositorySystem third = SharedRepositorySystem.acquire();
+        assertSame(first, third);
+
+        DefaultRepositorySystemSession session = MavenRepositorySystemUtils.newSession();
+        session.setLocalRepositoryManager(
+                first.getSystem().newLocalRepositoryManager(session, new LocalRepository("target/local-repo")));
+        second.release();
+        third.release();
+        // the system has been shut down and refuses further use
+        assertThrows(IllegalStateException.class, () -> first.getSystem().newSyncContext(session, false));
+
+        SharedRepositorySystem fourth = SharedRepositorySystem.acquire();
+        assertNotSame(first, fourth);
+        fourth.release();
+    }
+}
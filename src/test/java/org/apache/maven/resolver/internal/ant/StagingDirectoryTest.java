@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.resolver.internal.ant;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import junit.framework.JUnit4TestAdapter;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class StagingDirectoryTest {
+    public static junit.framework.Test suite() {
+        return new JUnit4TestAdapter(StagingDirectoryTest.class);
+    }
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testSharedInstance() throws Exception {
+        File dir = folder.newFolder("staging");
+        assertSame(StagingDirectory.of(dir), StagingDirectory.of(new File(dir, "../staging")));
+    }
+
+    @Test
+    public void testConcurrentStages() throws Exception {
+        File dir = folder.newFolder("staging");
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            DefaultArtifact artifact = new DefaultArtifact("org.example:module" + i + ":1.0");
+            String path = "org/example/module" + i + "/1.0/module" + i + "-1.0.jar";
+            new File(dir, path).getParentFile().mkdirs();
+            new File(dir, path).createNewFile();
+            threads.add(new Thread(
+                    () -> StagingDirectory.of(dir).addArtifacts(Collections.singletonMap(artifact, path))));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(8, StagingDirectory.of(dir).getBatches().size());
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.resolver.internal.ant;
+
+import java.util.List;
+import java.util.Timer;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.JUnit4TestAdapter;
+import org.apache.tools.ant.Task;
+import org.eclipse.aether.transfer.TransferResource;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+
+public class TransferProgressTest {
+    public static junit.framework.Test suite() {
+        return new JUnit4TestAdapter(TransferProgressTest.class);
+    }
+
+    @Test
+    public void testReport() {
+        TransferProgress progress = new TransferProgress(new Task() {}, 1000);
+        TransferResource small = new TransferResource("central", "https://repo/", "small.jar", null, null);
+        small.setContentLength(1000);
+        TransferResource large = new TransferResource("central", "https://repo/", "large.jar", null, null);
+        large.setContentLength(3000);
+
+        progress.started(small);
+        progress.started(large);
+        progress.progressed(small, 900);
+        progress.progressed(large, 100);
+
+        String report = progress.report(System.currentTimeMillis() + 1000);
+        assertThat(report, startsWith("Transferring 2 files at "));
+        assertThat(report, containsString(", 2.9 KB remaining, ETA "));
+        assertThat(report, containsString(", slowest https://repo/large.jar at "));
+
+        progress.finished(large);
+        report = progress.report(System.currentTimeMillis() + 2000);
+        assertThat(report, startsWith("Transferring 1 file at "));
+        assertThat(report, containsString(", 100 B remaining"));
+        assertThat(report, not(containsString("slowest")));
+    }
+
+    @Test
+    public void testReportStalledTransfer() throws InterruptedException {
+        List<String> logs = new CopyOnWriteArrayList<>();
+        TransferProgress progress = new TransferProgress(
+                new Task() {
+                    @Override
+                    public void log(String msg) {
+                        logs.add(msg);
+                    }
+                },
+                50);
+        TransferResource stalled = new TransferResource("central", "https://repo/", "stalled.jar", null, null);
+        stalled.setContentLength(1000);
+        Timer timer = new Timer(true);
+        try {
+            progress.schedule(timer);
+            progress.started(stalled);
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (logs.isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat("stalled transfer was not reported", logs, not(empty()));
+            assertThat(logs.get(0), startsWith("Transferring 1 file at 0 B/s, 1000 B remaining"));
+
+            progress.finished(stalled);
+            progress.cancel();
+            Thread.sleep(200);
+            logs.clear();
+            Thread.sleep(200);
+            assertThat("cancelled progress was still reported", logs, empty());
+        } finally {
+            timer.cancel();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.resolver.internal.ant;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+import junit.framework.JUnit4TestAdapter;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TransferStatisticsTest {
+    public static junit.framework.Test suite() {
+        return new JUnit4TestAdapter(TransferStatisticsTest.class);
+    }
+
+    @Test
+    public void testAggregatesPerRepositoryAndRequestType() {
+        TransferStatistics statistics = new TransferStatistics();
+        for (int i = 1; i <= 100; i++) {
+            statistics.add("central", TransferEvent.RequestType.GET, 1024, 1000, 1000 + i);
+        }
+        statistics.add("dist", TransferEvent.RequestType.PUT, 10, 0, 0);
+
+        Map<String, Long> map = new TreeMap<>();
+        statistics.addTo(map);
+        assertEquals(Long.valueOf(100), map.get("transfer.central.get.files"));
+        assertEquals(Long.valueOf(100 * 1024), map.get("transfer.central.get.bytes"));
+        assertEquals(Long.valueOf(1), map.get("transfer.central.get.minMillis"));
+        assertEquals(Long.valueOf(50), map.get("transfer.central.get.avgMillis"));
+        long p95 = map.get("transfer.central.get.p95Millis");
+        assertTrue("p95 " + p95, p95 >= 95 && p95 <= 100);
+        assertEquals(Long.valueOf(1), map.get("transfer.dist.put.files"));
+
+        assertEquals(
+                "Downloaded 100 files (100.0 KB) from central at 1000.0 KB/s, latency min 1 ms, avg 50 ms, p95 " + p95
+                        + " ms",
+                statistics.summarize().get(0));
+        assertEquals(
+                Collections.singletonList("Uploaded 1 file (10 B) to dist, latency min 0 ms, avg 0 ms, p95 0 ms"),
+                statistics.summarize().subList(1, 2));
+    }
+
+    @Test
+    public void testBuckets() {
+        for (long millis = 0; millis < 100000; millis++) {
+            int bucket = TransferStatistics.bucket(millis);
+            assertTrue(millis + " above bucket " + bucket, millis <= TransferStatistics.upperBound(bucket));
+            assertTrue(millis + " not within 25%", TransferStatistics.upperBound(bucket) <= millis + millis / 4);
+        }
+    }
+
+    @Test
+    public void testFormat() {
+        assertEquals("512 B", TransferStatistics.formatBytes(512));
+        assertEquals("1.5 KB", TransferStatistics.formatBytes(1536));
+        assertEquals("2.0 MB", TransferStatistics.formatBytes(2 * 1024 * 1024));
+        assertEquals("1.0 KB/s", TransferStatistics.formatRate(2048, 2000));
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.resolver.internal.ant.tasks;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import junit.framework.JUnit4TestAdapter;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+import org.apache.tools.ant.BuildException;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ReactorSortTest {
+    public static junit.framework.Test suite() {
+        return new JUnit4TestAdapter(ReactorSortTest.class);
+    }
+
+    private final Map<File, Model> models = new LinkedHashMap<>();
+
+    private Model module(String artifactId, String parent, String... dependencies) {
+        Model model = new Model();
+        model.setGroupId("test");
+        model.setArtifactId(artifactId);
+        model.setVersion("1");
+        if (parent != null) {
+            Parent p = new Parent();
+            p.setGroupId("test");
+            p.setArtifactId(parent);
+            p.setVersion("1");
+            model.setParent(p);
+        }
+        for (String artifact : dependencies) {
+            Dependency dependency = new Dependency();
+            dependency.setGroupId(artifact.contains(":") ? artifact.substring(0, artifact.indexOf(':')) : "test");
+            dependency.setArtifactId(artifact.substring(artifact.indexOf(':') + 1));
+            dependency.setVersion("1");
+            model.addDependency(dependency);
+        }
+        models.put(new File(artifactId, "pom.xml"), model);
+        return model;
+    }
+
+    @Test
+    public void testParentsAndDependenciesFirst() {
+        module("app", "parent", "impl", "org.example:external");
+        module("impl", "parent", "api");
+        module("api", "parent");
+        module("parent", null);
+        module("tools", null);
+
+        assertEquals(
+                Arrays.asList(
+                        new File("parent", "pom.xml"),
+                        new File("api", "pom.xml"),
+                        new File("impl", "pom.xml"),
+                        new File("app", "pom.xml"),
+                        new File("tools", "pom.xml")),
+                Reactor.sort(models));
+    }
+
+    @Test
+    public void testCycle() {
+        module("a", null, "b");
+        module("b", null, "c");
+        module("c", null, "a");
+
+        try {
+            Reactor.sort(models);
+            fail("cycle not detected");
+        } catch (BuildException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("test:a -> test:b -> test:c -> test:a"));
+        }
+    }
+
+    @Test(expected = BuildException.class)
+    public void testDuplicateModule() {
+        module("a", null);
+        models.put(new File("copy", "pom.xml"), models.get(new File("a", "pom.xml")));
+
+        Reactor.sort(models);
+    }
+}